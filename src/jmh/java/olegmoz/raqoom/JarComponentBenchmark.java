@@ -0,0 +1,50 @@
+package olegmoz.raqoom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JarComponentBenchmark {
+
+    @Param({"100", "10000", "50000"})
+    int classes;
+
+    File jar;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jar = File.createTempFile("raqoom-bench", ".jar");
+        Synthetic.jar(jar, classes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jar.delete();
+    }
+
+    @Benchmark
+    public Collection<JarComponent.JarClassInfo> classes() {
+        return new JarComponent("bench", jar).classes();
+    }
+}
@@ -0,0 +1,94 @@
+package olegmoz.raqoom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public final class Synthetic {
+
+    private static final String[] TYPES = {"ACTION", "MODEL", ""};
+    private static final String[] INTERFACES = {"org/example/Action", "org/example/Model", null};
+
+    private Synthetic() {
+    }
+
+    public static void csv(File csv, int rows) throws IOException {
+        try (var writer = CsvWriter.create(csv)) {
+            for (int i = 0; i < rows; i++) {
+                var simpleName = "Class" + i;
+                writer.row("org.example.p" + (i % 100) + "." + simpleName, simpleName, TYPES[i % TYPES.length]);
+            }
+        }
+    }
+
+    public static void jar(File jar, int classes) throws IOException {
+        try (var out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < classes; i++) {
+                var name = "org/example/p" + (i % 100) + "/Class" + i;
+                out.putNextEntry(new JarEntry(name + ".class"));
+                out.write(classFile(name, INTERFACES[i % INTERFACES.length]));
+                out.closeEntry();
+            }
+        }
+    }
+
+    public static List<ComponentSnapshot> components(int count, int classesPerComponent, double overlap, long seed) {
+        var random = new Random(seed);
+        var components = new ArrayList<ComponentSnapshot>(count);
+        for (int c = 0; c < count; c++) {
+            var actions = new ArrayList<ClassInfo>(classesPerComponent);
+            var models = new ArrayList<ClassInfo>(classesPerComponent);
+            for (int i = 0; i < classesPerComponent; i++) {
+                var pkg = random.nextDouble() < overlap ? "org.example.shared" : "org.example.c" + c;
+                var index = random.nextInt(classesPerComponent);
+                actions.add(new CsvComponent.CsvClassInfo(pkg + ".Action" + index, "Action" + index, ClassType.ACTION));
+                models.add(new CsvComponent.CsvClassInfo(pkg + ".Model" + index, "Model" + index, ClassType.MODEL));
+            }
+            components.add(new ComponentSnapshot(new ComponentName("component" + c), actions, models));
+        }
+        return components;
+    }
+
+    private static byte[] classFile(String name, String iface) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(61);
+        out.writeShort(iface == null ? 5 : 7);
+        out.writeByte(1);
+        out.writeUTF(name);
+        out.writeByte(7);
+        out.writeShort(1);
+        out.writeByte(1);
+        out.writeUTF("java/lang/Object");
+        out.writeByte(7);
+        out.writeShort(3);
+        if (iface != null) {
+            out.writeByte(1);
+            out.writeUTF(iface);
+            out.writeByte(7);
+            out.writeShort(5);
+        }
+        out.writeShort(0x0021);
+        out.writeShort(2);
+        out.writeShort(4);
+        if (iface != null) {
+            out.writeShort(1);
+            out.writeShort(6);
+        } else {
+            out.writeShort(0);
+        }
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        return bytes.toByteArray();
+    }
+}
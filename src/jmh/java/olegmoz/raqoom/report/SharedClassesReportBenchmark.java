@@ -0,0 +1,59 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.Synthetic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SharedClassesReportBenchmark {
+
+    private static final int CLASSES_PER_COMPONENT = 1000;
+
+    @Param({"10", "100", "400"})
+    int components;
+
+    @Param({"0.1", "0.5", "0.9"})
+    double overlap;
+
+    SharedActionsReport report;
+    File csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        report = new SharedActionsReport(List.copyOf(Synthetic.components(components, CLASSES_PER_COMPONENT, overlap, 42)));
+        csv = File.createTempFile("raqoom-bench", ".csv");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        csv.delete();
+    }
+
+    @Benchmark
+    public File write() {
+        csv.delete();
+        report.write(csv);
+        return csv;
+    }
+}
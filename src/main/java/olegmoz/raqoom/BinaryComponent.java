@@ -0,0 +1,259 @@
+package olegmoz.raqoom;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+
+public class BinaryComponent implements Component {
+
+    private static final String EXTENSION = ".rqs";
+    private static final int MAGIC = 0x52514F53;
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int PACKAGE_SIZE = 8;
+    private static final int RECORD_SIZE = 24;
+
+    private final File file;
+    private final ComponentName name;
+    private final SnapshotCache snapshots;
+    private volatile Mapping mapping;
+
+    public BinaryComponent(File file) {
+        this.file = file;
+        this.name = new ComponentName(extractName(file));
+        this.snapshots = new SnapshotCache(file);
+    }
+
+    @Override
+    public ComponentName name() {
+        return name;
+    }
+
+    @Override
+    public List<ClassInfo> actions() {
+        var current = map();
+        return new Records(current, 0, current.actions);
+    }
+
+    @Override
+    public List<ClassInfo> models() {
+        var current = map();
+        return new Records(current, current.actions, current.models);
+    }
+
+    @Override
+    public ComponentSnapshot snapshot() {
+        return snapshots.get(() -> new ComponentSnapshot(name, actions(), models()));
+    }
+
+    public void write(Component component) {
+        if (file.exists()) {
+            throw new IllegalStateException("File already exists: %s".formatted(file));
+        }
+        var actions = component.actions().stream().sorted(comparing(ClassInfo::fullName)).toList();
+        var models = component.models().stream().sorted(comparing(ClassInfo::fullName)).toList();
+        var strings = new Strings();
+        var packages = new HashMap<String, Integer>();
+        var packageRecords = new ArrayList<int[]>();
+        var records = new ByteArrayOutputStream((actions.size() + models.size()) * RECORD_SIZE);
+        var out = new DataOutputStream(records);
+        try {
+            writeRecords(out, actions, ClassType.ACTION, strings, packages, packageRecords);
+            writeRecords(out, models, ClassType.MODEL, strings, packages, packageRecords);
+            try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+                 var output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+                var stringsOffset = HEADER_SIZE + packageRecords.size() * PACKAGE_SIZE + records.size();
+                output.writeInt(MAGIC);
+                output.writeShort(VERSION);
+                output.writeShort(0);
+                output.writeInt(actions.size());
+                output.writeInt(models.size());
+                output.writeInt(packageRecords.size());
+                output.writeInt(stringsOffset);
+                output.writeInt(strings.size());
+                output.writeInt(0);
+                for (int[] pkg : packageRecords) {
+                    output.writeInt(pkg[0]);
+                    output.writeInt(pkg[1]);
+                }
+                records.writeTo(output);
+                strings.writeTo(output);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write snapshot file", e);
+        }
+    }
+
+    private static void writeRecords(DataOutputStream out, List<ClassInfo> classes, ClassType type, Strings strings,
+                                     Map<String, Integer> packages, List<int[]> packageRecords) throws IOException {
+        for (ClassInfo cl : classes) {
+            var fullName = cl.fullName();
+            var dot = fullName.lastIndexOf('.');
+            var packageName = dot < 0 ? "" : fullName.substring(0, dot);
+            var packageIndex = packages.computeIfAbsent(packageName, p -> {
+                var bytes = p.getBytes(UTF_8);
+                packageRecords.add(new int[]{strings.add(bytes), bytes.length});
+                return packageRecords.size() - 1;
+            });
+            var local = fullName.substring(dot + 1).getBytes(UTF_8);
+            var localOffset = strings.add(local);
+            var simple = cl.simpleName().getBytes(UTF_8);
+            var simpleOffset = endsWith(local, simple) ? localOffset + local.length - simple.length : strings.add(simple);
+            out.writeByte(type.ordinal());
+            out.writeByte(0);
+            out.writeShort(0);
+            out.writeInt(packageIndex);
+            out.writeInt(localOffset);
+            out.writeInt(local.length);
+            out.writeInt(simpleOffset);
+            out.writeInt(simple.length);
+        }
+    }
+
+    private static boolean endsWith(byte[] value, byte[] suffix) {
+        if (suffix.length > value.length) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length; i++) {
+            if (value[value.length - suffix.length + i] != suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Mapping map() {
+        var lastModified = file.lastModified();
+        var length = file.length();
+        var current = mapping;
+        if (current != null && current.lastModified == lastModified && current.length == length) {
+            return current;
+        }
+        if (!file.exists()) {
+            throw new IllegalStateException("File does not exist: %s".formatted(file));
+        }
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            current = new Mapping(lastModified, length, buffer);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file: %s".formatted(file), e);
+        }
+        mapping = current;
+        return current;
+    }
+
+    private static String extractName(File file) {
+        var fileName = file.getName();
+        if (fileName.endsWith(EXTENSION)) {
+            return fileName.substring(0, fileName.length() - EXTENSION.length());
+        }
+        return fileName;
+    }
+
+    private static final class Mapping {
+        private final long lastModified;
+        private final long length;
+        private final ByteBuffer buffer;
+        private final int actions;
+        private final int models;
+        private final int packages;
+        private final int records;
+        private final int strings;
+
+        private Mapping(long lastModified, long length, ByteBuffer buffer) {
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Not a component snapshot file");
+            }
+            if (buffer.getShort(4) != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version %d".formatted(buffer.getShort(4)));
+            }
+            this.lastModified = lastModified;
+            this.length = length;
+            this.buffer = buffer;
+            this.actions = buffer.getInt(8);
+            this.models = buffer.getInt(12);
+            var packageCount = buffer.getInt(16);
+            this.packages = HEADER_SIZE;
+            this.records = packages + packageCount * PACKAGE_SIZE;
+            this.strings = buffer.getInt(20);
+            if (records + (long) (actions + models) * RECORD_SIZE != strings
+                    || (long) strings + buffer.getInt(24) != buffer.limit()) {
+                throw new IllegalArgumentException("Corrupted snapshot file");
+            }
+        }
+
+        private String string(int offset, int length) {
+            var bytes = new byte[length];
+            buffer.get(strings + offset, bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+
+    private static final class Records extends AbstractList<ClassInfo> {
+        private final Mapping mapping;
+        private final int from;
+        private final int size;
+
+        private Records(Mapping mapping, int from, int size) {
+            this.mapping = mapping;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public ClassInfo get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return new BinaryClassInfo(mapping, mapping.records + (from + index) * RECORD_SIZE);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private record BinaryClassInfo(Mapping mapping, int record) implements ClassInfo {
+
+        @Override
+        public String fullName() {
+            var buffer = mapping.buffer;
+            var pkg = mapping.packages + buffer.getInt(record + 4) * PACKAGE_SIZE;
+            var packageName = mapping.string(buffer.getInt(pkg), buffer.getInt(pkg + 4));
+            var localName = mapping.string(buffer.getInt(record + 8), buffer.getInt(record + 12));
+            return packageName.isEmpty() ? localName : packageName + "." + localName;
+        }
+
+        @Override
+        public String simpleName() {
+            return mapping.string(mapping.buffer.getInt(record + 16), mapping.buffer.getInt(record + 20));
+        }
+    }
+
+    private static final class Strings extends ByteArrayOutputStream {
+        private final Map<String, Integer> offsets = new HashMap<>();
+
+        int add(byte[] value) {
+            return offsets.computeIfAbsent(new String(value, UTF_8), v -> {
+                var offset = size();
+                write(value, 0, value.length);
+                return offset;
+            });
+        }
+    }
+}
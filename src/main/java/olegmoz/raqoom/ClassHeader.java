@@ -0,0 +1,156 @@
+package olegmoz.raqoom;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+record ClassHeader(String name, String simpleName, String superName, List<String> interfaces, boolean module) {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_MODULE = 0x8000;
+    private static final String INNER_CLASSES = "InnerClasses";
+
+    static ClassHeader parse(ByteBuffer bytes) {
+        try {
+            return new Parser(bytes).parse();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file", e);
+        }
+    }
+
+    private static final class Parser {
+        private final ByteBuffer bytes;
+        private int[] offsets;
+
+        private Parser(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        ClassHeader parse() {
+            if (bytes.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a class file");
+            }
+            skip(4);
+            readConstantPool();
+            var access = u2();
+            var thisClass = u2();
+            var superClass = u2();
+            var interfaceCount = u2();
+            var interfaces = new ArrayList<String>(interfaceCount);
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaces.add(className(u2()));
+            }
+            var name = className(thisClass);
+            var superName = superClass == 0 ? null : className(superClass);
+            if ((access & ACC_MODULE) != 0) {
+                return new ClassHeader(name, name, superName, interfaces, true);
+            }
+            skipMembers();
+            skipMembers();
+            var simpleName = innerSimpleName(name);
+            if (simpleName == null) {
+                simpleName = name.substring(name.lastIndexOf('.') + 1);
+            }
+            return new ClassHeader(name, simpleName, superName, List.copyOf(interfaces), false);
+        }
+
+        private void readConstantPool() {
+            var count = u2();
+            offsets = new int[count];
+            for (int i = 1; i < count; i++) {
+                offsets[i] = bytes.position();
+                var tag = u1();
+                switch (tag) {
+                    case 1 -> skip(u2());
+                    case 7, 8, 16, 19, 20 -> skip(2);
+                    case 15 -> skip(3);
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> skip(4);
+                    case 5, 6 -> {
+                        skip(8);
+                        i++;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown constant pool tag %d".formatted(tag));
+                }
+            }
+        }
+
+        private void skipMembers() {
+            var count = u2();
+            for (int i = 0; i < count; i++) {
+                skip(6);
+                skipAttributes(u2());
+            }
+        }
+
+        private void skipAttributes(int count) {
+            for (int i = 0; i < count; i++) {
+                skip(2);
+                skip(bytes.getInt());
+            }
+        }
+
+        private String innerSimpleName(String name) {
+            var count = u2();
+            for (int i = 0; i < count; i++) {
+                var attributeName = utf8(u2());
+                var length = bytes.getInt();
+                if (!attributeName.equals(INNER_CLASSES)) {
+                    skip(length);
+                    continue;
+                }
+                var classes = u2();
+                for (int j = 0; j < classes; j++) {
+                    var inner = u2();
+                    skip(2);
+                    var innerName = u2();
+                    skip(2);
+                    if (inner != 0 && className(inner).equals(name)) {
+                        return innerName == 0 ? "" : utf8(innerName);
+                    }
+                }
+                return null;
+            }
+            return null;
+        }
+
+        private String className(int index) {
+            return utf8(Short.toUnsignedInt(bytes.getShort(offsets[index] + 1))).replace('/', '.');
+        }
+
+        private String utf8(int index) {
+            var offset = offsets[index];
+            if (bytes.get(offset) != 1) {
+                throw new IllegalArgumentException("Constant #%d is not UTF8".formatted(index));
+            }
+            var length = Short.toUnsignedInt(bytes.getShort(offset + 1));
+            var chars = new char[length];
+            var count = 0;
+            var pos = offset + 3;
+            var end = pos + length;
+            while (pos < end) {
+                int b = bytes.get(pos++) & 0xFF;
+                if (b < 0x80) {
+                    chars[count++] = (char) b;
+                } else if ((b & 0xE0) == 0xC0) {
+                    chars[count++] = (char) (((b & 0x1F) << 6) | (bytes.get(pos++) & 0x3F));
+                } else {
+                    chars[count++] = (char) (((b & 0x0F) << 12) | ((bytes.get(pos++) & 0x3F) << 6) | (bytes.get(pos++) & 0x3F));
+                }
+            }
+            return new String(chars, 0, count);
+        }
+
+        private int u1() {
+            return Byte.toUnsignedInt(bytes.get());
+        }
+
+        private int u2() {
+            return Short.toUnsignedInt(bytes.getShort());
+        }
+
+        private void skip(int count) {
+            bytes.position(bytes.position() + count);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package olegmoz.raqoom;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+final class ClassHierarchy {
+
+    private static final int IN_PROGRESS = -1;
+
+    private final Map<String, ClassHeader> headers;
+    private final ClassMarkers markers;
+    private final Map<String, Integer> masks = new HashMap<>();
+
+    ClassHierarchy(Collection<ClassHeader> headers, ClassMarkers markers) {
+        this.headers = new HashMap<>(headers.size() * 2);
+        for (ClassHeader header : headers) {
+            this.headers.putIfAbsent(header.name(), header);
+        }
+        this.markers = markers;
+    }
+
+    boolean is(String name, ClassType type) {
+        return (mask(name) & ClassMarkers.mask(type)) != 0;
+    }
+
+    int mask(String name) {
+        var cached = masks.get(name);
+        if (cached != null) {
+            return cached == IN_PROGRESS ? 0 : cached;
+        }
+        if (!headers.containsKey(name)) {
+            return 0;
+        }
+        // resolved with an explicit stack, deep hierarchies must not overflow the thread stack
+        var stack = new ArrayDeque<ClassHeader>();
+        masks.put(name, IN_PROGRESS);
+        stack.push(headers.get(name));
+        while (!stack.isEmpty()) {
+            var header = stack.peek();
+            var next = unresolvedSupertype(header);
+            if (next != null) {
+                masks.put(next.name(), IN_PROGRESS);
+                stack.push(next);
+                continue;
+            }
+            stack.pop();
+            var mask = 0;
+            if (header.superName() != null) {
+                mask |= supertypeMask(header.superName());
+            }
+            for (String iface : header.interfaces()) {
+                mask |= supertypeMask(iface);
+            }
+            masks.put(header.name(), mask);
+        }
+        return masks.get(name);
+    }
+
+    private ClassHeader unresolvedSupertype(ClassHeader header) {
+        if (header.superName() != null && isUnresolved(header.superName())) {
+            return headers.get(header.superName());
+        }
+        for (String iface : header.interfaces()) {
+            if (isUnresolved(iface)) {
+                return headers.get(iface);
+            }
+        }
+        return null;
+    }
+
+    private boolean isUnresolved(String name) {
+        return headers.containsKey(name) && !masks.containsKey(name);
+    }
+
+    private int supertypeMask(String supertype) {
+        var mask = masks.get(supertype);
+        return markers.mask(supertype) | (mask == null || mask == IN_PROGRESS ? 0 : mask);
+    }
+}
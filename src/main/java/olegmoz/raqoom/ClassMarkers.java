@@ -0,0 +1,61 @@
+package olegmoz.raqoom;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class ClassMarkers {
+
+    public static final ClassMarkers DEFAULT = new ClassMarkers(Map.of(
+            "org.example.Action", ClassType.ACTION,
+            "org.example.Model", ClassType.MODEL));
+
+    private final Map<String, ClassType> markers;
+
+    public ClassMarkers(Map<String, ClassType> markers) {
+        for (var entry : markers.entrySet()) {
+            if (entry.getValue() == ClassType.UNKNOWN) {
+                throw new IllegalArgumentException("Marker type should be known: %s".formatted(entry.getKey()));
+            }
+        }
+        this.markers = Map.copyOf(markers);
+    }
+
+    int mask(String name) {
+        var type = markers.get(name);
+        return type == null ? 0 : mask(type);
+    }
+
+    static int mask(ClassType type) {
+        return 1 << type.ordinal();
+    }
+
+    String key() {
+        if (this.equals(DEFAULT)) {
+            return "";
+        }
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var entry : new TreeMap<>(markers).entrySet()) {
+                // class names cannot contain '\0' or '\n', so distinct marker sets never share an input
+                digest.update((entry.getKey() + '\0' + entry.getValue().name() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ClassMarkers other && markers.equals(other.markers);
+    }
+
+    @Override
+    public int hashCode() {
+        return markers.hashCode();
+    }
+}
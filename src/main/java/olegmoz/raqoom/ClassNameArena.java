@@ -0,0 +1,170 @@
+package olegmoz.raqoom;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class ClassNameArena {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    private static final int ENTRY_HEADER = 10;
+
+    private final int chunkSize;
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private ByteBuffer current;
+    private long used;
+
+    public ClassNameArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public ClassNameArena(int chunkSize) {
+        if (chunkSize < ENTRY_HEADER) {
+            throw new IllegalArgumentException("Chunk size is too small: %d".formatted(chunkSize));
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public Component store(Component component) {
+        var actions = store(component.actions(), ClassType.ACTION);
+        var models = store(component.models(), ClassType.MODEL);
+        return new ArenaComponent(component.name(), new Entries(actions), new Entries(models));
+    }
+
+    public synchronized long usedBytes() {
+        return used;
+    }
+
+    public synchronized long allocatedBytes() {
+        return Arrays.stream(chunks).mapToLong(ByteBuffer::capacity).sum();
+    }
+
+    private synchronized long[] store(Collection<ClassInfo> classes, ClassType type) {
+        var handles = new long[classes.size()];
+        var i = 0;
+        for (ClassInfo cl : classes) {
+            handles[i++] = append(cl, type);
+        }
+        return handles;
+    }
+
+    private long append(ClassInfo cl, ClassType type) {
+        var full = cl.fullName();
+        var simple = cl.simpleName();
+        var fullName = full.getBytes(UTF_8);
+        var simpleName = simple.getBytes(UTF_8);
+        var suffix = full.endsWith(simple);
+        var size = ENTRY_HEADER + fullName.length + (suffix ? 0 : simpleName.length);
+        var chunk = reserve(size);
+        var offset = chunk.position();
+        chunk.put((byte) type.ordinal())
+                .put((byte) (suffix ? 1 : 0))
+                .putInt(fullName.length)
+                .putInt(simpleName.length)
+                .put(fullName);
+        if (!suffix) {
+            chunk.put(simpleName);
+        }
+        used += size;
+        return (long) (chunks.length - 1) << 32 | offset;
+    }
+
+    private ByteBuffer reserve(int size) {
+        if (current == null || current.remaining() < size) {
+            current = ByteBuffer.allocateDirect(Math.max(chunkSize, size));
+            var grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = current;
+            chunks = grown;
+        }
+        return current;
+    }
+
+    private ByteBuffer chunk(long handle) {
+        return chunks[(int) (handle >>> 32)];
+    }
+
+    private static int offset(long handle) {
+        return (int) handle;
+    }
+
+    ClassType type(long handle) {
+        return ClassType.values()[chunk(handle).get(offset(handle))];
+    }
+
+    String fullName(long handle) {
+        var chunk = chunk(handle);
+        var offset = offset(handle);
+        return decode(chunk, offset + ENTRY_HEADER, chunk.getInt(offset + 2));
+    }
+
+    String simpleName(long handle) {
+        var chunk = chunk(handle);
+        var offset = offset(handle);
+        var fullLength = chunk.getInt(offset + 2);
+        var simpleLength = chunk.getInt(offset + 6);
+        var from = chunk.get(offset + 1) == 1
+                ? offset + ENTRY_HEADER + fullLength - simpleLength
+                : offset + ENTRY_HEADER + fullLength;
+        return decode(chunk, from, simpleLength);
+    }
+
+    private static String decode(ByteBuffer chunk, int from, int length) {
+        var bytes = new byte[length];
+        chunk.get(from, bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private final class Entries extends AbstractList<ClassInfo> {
+        private final long[] handles;
+
+        private Entries(long[] handles) {
+            this.handles = handles;
+        }
+
+        @Override
+        public ClassInfo get(int index) {
+            return new ArenaClassInfo(ClassNameArena.this, handles[index]);
+        }
+
+        @Override
+        public int size() {
+            return handles.length;
+        }
+    }
+
+    private record ArenaClassInfo(ClassNameArena arena, long handle) implements ClassInfo {
+
+        @Override
+        public String fullName() {
+            return arena.fullName(handle);
+        }
+
+        @Override
+        public String simpleName() {
+            return arena.simpleName(handle);
+        }
+
+        public ClassType type() {
+            return arena.type(handle);
+        }
+
+        @Override
+        public String toString() {
+            return fullName();
+        }
+    }
+
+    private record ArenaComponent(ComponentName name, List<ClassInfo> actions, List<ClassInfo> models)
+            implements Component {
+
+        @Override
+        public String toString() {
+            return "ArenaComponent[name=%s, actions=%d, models=%d]".formatted(name.value(), actions.size(), models.size());
+        }
+    }
+}
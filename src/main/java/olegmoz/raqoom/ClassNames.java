@@ -0,0 +1,62 @@
+package olegmoz.raqoom;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ClassNames {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[1024];
+    private volatile int size;
+
+    public int id(String name) {
+        var id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            var next = size;
+            if (next == names.length) {
+                names = Arrays.copyOf(names, next * 2);
+            }
+            names[next] = name;
+            size = next + 1;
+            ids.put(name, next);
+            return next;
+        }
+    }
+
+    public int find(String name) {
+        var id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown class id: %d".formatted(id));
+        }
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] ids(Iterable<? extends ClassInfo> classes) {
+        var result = new int[8];
+        var count = 0;
+        for (ClassInfo cl : classes) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = id(cl.fullName());
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package olegmoz.raqoom;
+
+import java.util.Objects;
+
+class CompactClassInfo implements ClassInfo {
+
+    private final String fullName;
+    // null when the simple name is the part after the last '.' or '$'
+    private final String simpleName;
+
+    CompactClassInfo(String fullName, String simpleName) {
+        this.fullName = fullName;
+        this.simpleName = simpleName.equals(derive(fullName)) ? null : simpleName;
+    }
+
+    @Override
+    public String fullName() {
+        return fullName;
+    }
+
+    @Override
+    public String simpleName() {
+        return simpleName != null ? simpleName : derive(fullName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (CompactClassInfo) o;
+        return fullName.equals(that.fullName) && Objects.equals(simpleName, that.simpleName);
+    }
+
+    @Override
+    public int hashCode() {
+        return fullName.hashCode();
+    }
+
+    private static String derive(String fullName) {
+        return fullName.substring(Math.max(fullName.lastIndexOf('.'), fullName.lastIndexOf('$')) + 1);
+    }
+}
@@ -1,9 +1,14 @@
 package olegmoz.raqoom;
 
-import olegmoz.raqoom.report.SharedActionsReport;
-import olegmoz.raqoom.report.SharedModelsReport;
+import olegmoz.raqoom.report.SharedActionsAndModelsReport;
 
-public interface Component extends
-        SharedActionsReport.Component,
-        SharedModelsReport.Component {
+public interface Component extends SharedActionsAndModelsReport.Component {
+
+    default ComponentSnapshot snapshot() {
+        return new ComponentSnapshot(name(), actions(), models());
+    }
+
+    default ComponentSnapshot reload() {
+        return snapshot();
+    }
 }
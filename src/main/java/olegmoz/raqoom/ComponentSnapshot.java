@@ -0,0 +1,91 @@
+package olegmoz.raqoom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class ComponentSnapshot implements Component {
+
+    private final ComponentName name;
+    private final List<ClassInfo> actions;
+    private final List<ClassInfo> models;
+    private final String[] actionNames;
+    private final String[] modelNames;
+
+    public ComponentSnapshot(ComponentName name, Collection<ClassInfo> actions, Collection<ClassInfo> models) {
+        this.name = name;
+        this.actions = List.copyOf(actions);
+        this.models = List.copyOf(models);
+        this.actionNames = sortedNames(this.actions);
+        this.modelNames = sortedNames(this.models);
+    }
+
+    static <T extends ClassInfo> ComponentSnapshot of(ComponentName name, Collection<T> classes,
+                                                      Function<T, ClassType> typeOf) {
+        return of(name, classes, cl -> typeOf.apply(cl) == ClassType.ACTION, cl -> typeOf.apply(cl) == ClassType.MODEL);
+    }
+
+    static <T extends ClassInfo> ComponentSnapshot of(ComponentName name, Collection<T> classes,
+                                                      Predicate<T> isAction, Predicate<T> isModel) {
+        var actions = new ArrayList<ClassInfo>();
+        var models = new ArrayList<ClassInfo>();
+        for (T cl : classes) {
+            if (isAction.test(cl)) {
+                actions.add(cl);
+            }
+            if (isModel.test(cl)) {
+                models.add(cl);
+            }
+        }
+        return new ComponentSnapshot(name, actions, models);
+    }
+
+    @Override
+    public ComponentName name() {
+        return name;
+    }
+
+    @Override
+    public List<ClassInfo> actions() {
+        return actions;
+    }
+
+    @Override
+    public List<ClassInfo> models() {
+        return models;
+    }
+
+    @Override
+    public ComponentSnapshot snapshot() {
+        return this;
+    }
+
+    public boolean contains(ClassInfo cl) {
+        return type(cl) != ClassType.UNKNOWN;
+    }
+
+    public ClassType type(ClassInfo cl) {
+        var fullName = cl.fullName();
+        if (Arrays.binarySearch(actionNames, fullName) >= 0) {
+            return ClassType.ACTION;
+        }
+        return Arrays.binarySearch(modelNames, fullName) >= 0 ? ClassType.MODEL : ClassType.UNKNOWN;
+    }
+
+    private static String[] sortedNames(List<ClassInfo> classes) {
+        var names = new String[classes.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = classes.get(i).fullName();
+        }
+        Arrays.sort(names);
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentSnapshot[name=%s, actions=%d, models=%d]".formatted(name.value(), actions.size(), models.size());
+    }
+}
@@ -1,15 +1,20 @@
 package olegmoz.raqoom;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.List;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static java.lang.String.format;
 import static java.util.Comparator.comparing;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
 import static olegmoz.raqoom.ClassType.*;
 
 public class CsvComponent implements Component {
@@ -18,10 +23,18 @@ public class CsvComponent implements Component {
 
     private final File csv;
     private final ComponentName name;
+    private final ReadMode mode;
+    private final SnapshotCache snapshots;
 
     public CsvComponent(File csv) {
+        this(csv, ReadMode.STREAMING);
+    }
+
+    public CsvComponent(File csv, ReadMode mode) {
         this.csv = csv;
         this.name = new ComponentName(extractName(csv));
+        this.mode = mode;
+        this.snapshots = new SnapshotCache(csv);
     }
 
     @Override
@@ -31,73 +44,122 @@ public class CsvComponent implements Component {
 
     @Override
     public Collection<ClassInfo> actions() {
-        return read().stream().filter(cl -> cl.type() == ACTION).map(cl -> (ClassInfo) cl).toList();
+        return snapshot().actions();
     }
 
     @Override
     public Collection<ClassInfo> models() {
-        return read().stream().filter(cl -> cl.type() == MODEL).map(cl -> (ClassInfo) cl).toList();
+        return snapshot().models();
+    }
+
+    @Override
+    public ComponentSnapshot snapshot() {
+        return snapshots.get(this::load);
+    }
+
+    @Override
+    public ComponentSnapshot reload() {
+        return snapshots.reload(this::load);
+    }
+
+    private ComponentSnapshot load() {
+        return ComponentSnapshot.of(name, read(), CsvClassInfo::type);
     }
 
     List<CsvClassInfo> read() {
-        if (!csv.exists()) {
-            throw new IllegalStateException("File does not exist: %s".formatted(csv));
+        var metrics = Metrics.current();
+        var timer = metrics.start(Metrics.Phase.CSV_READ, name.value());
+        try {
+            var classes = readClasses();
+            metrics.count(Metrics.Counter.CLASSES_SCANNED, name.value(), classes.size());
+            metrics.count(Metrics.Counter.BYTES_READ, name.value(), csv.length());
+            return classes;
+        } finally {
+            timer.close();
         }
+    }
 
-        var classes = new ArrayList<CsvClassInfo>();
-        try (var reader = new java.io.BufferedReader(new java.io.FileReader(csv))) {
-            String line;
-            var lineNo = 0;
-            while ((line = reader.readLine()) != null) {
-                lineNo++;
-                var parts = line.split(",");
-                var type = parts.length > 2 ? parseType(parts[2], line, lineNo) : UNKNOWN;
-                if (parts.length < 2) {
-                    throw new IllegalArgumentException("Incomplete line #%d '%s' ".formatted(lineNo, line));
-                }
-                var fullName = parts[0];
-                var simpleName = parts[1];
-                classes.add(new CsvClassInfo(fullName, simpleName, type));
+    private List<CsvClassInfo> readClasses() {
+        if (mode == ReadMode.MAPPED) {
+            if (!csv.exists()) {
+                throw new IllegalStateException("File does not exist: %s".formatted(csv));
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read file: %s".formatted(csv), e);
+            return new MappedCsvReader(csv).read();
+        }
+        try (var classes = stream()) {
+            return classes.toList();
         }
-        return classes;
     }
 
-    private static ClassType parseType(String part, String line, int lineNo) {
-        String value = part.trim().toLowerCase();
-        if (value.isEmpty()) {
-            return UNKNOWN;
+    public Stream<ClassInfo> stream(ClassType type) {
+        return stream(t -> t == type).map(ClassInfo.class::cast);
+    }
+
+    Stream<CsvClassInfo> stream() {
+        return stream(type -> true);
+    }
+
+    private Stream<CsvClassInfo> stream(Predicate<ClassType> filter) {
+        if (!csv.exists()) {
+            throw new IllegalStateException("File does not exist: %s".formatted(csv));
         }
-        return switch (value) {
-            case "action" -> ACTION;
-            case "model" -> MODEL;
-            default -> throw new IllegalArgumentException(
-                    "Invalid value '%s' in line: #%d '%s' ".formatted(part, lineNo, line));
+        CsvParser parser;
+        try {
+            parser = new CsvParser(FileChannel.open(csv.toPath(), StandardOpenOption.READ));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file: %s".formatted(csv), e);
+        }
+        var rows = new Spliterators.AbstractSpliterator<CsvClassInfo>(Long.MAX_VALUE, ORDERED | NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super CsvClassInfo> action) {
+                CsvClassInfo next;
+                try {
+                    next = parser.next(filter);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read file: %s".formatted(csv), e);
+                }
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
         };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close file: %s".formatted(csv), e);
+            }
+        });
     }
 
     public void write(Component component) {
+        write(Stream.concat(
+                component.actions().stream().map(CsvClassInfo::action),
+                component.models().stream().map(CsvClassInfo::model)
+        ).sorted(comparing(ClassInfo::fullName)).toList());
+    }
+
+    void write(List<CsvClassInfo> classes) {
         if (csv.exists()) {
             throw new IllegalStateException("File already exists: %s".formatted(csv));
         }
-        try (FileWriter writer = new FileWriter(csv)) {
-            var classes = Stream.concat(
-                    component.actions().stream().map(CsvClassInfo::action),
-                    component.models().stream().map(CsvClassInfo::model)
-            ).sorted(comparing(ClassInfo::fullName)).toList();
+        try (var writer = CsvWriter.create(csv, CsvWriter.DEFAULT_BUFFER_SIZE, expectedSize(classes))) {
             for (CsvClassInfo cl : classes) {
-                write(writer, cl);
+                writer.row(cl.fullName(), cl.simpleName(), cl.type() != UNKNOWN ? cl.type().name() : "");
             }
         } catch (IOException e) {
             throw new RuntimeException("Failed to write CSV file", e);
         }
     }
 
-    private void write(FileWriter writer, CsvClassInfo info) throws IOException {
-        var type = info.type() != UNKNOWN ? info.type().toString() : "";
-        writer.write(format("%s,%s,%s\n", info.fullName(), info.simpleName(), type));
+    private static long expectedSize(List<CsvClassInfo> classes) {
+        var size = 0L;
+        for (CsvClassInfo cl : classes) {
+            size += cl.fullName().length() + cl.simpleName().length() + cl.type().name().length() + 3;
+        }
+        return size;
     }
 
     private static String extractName(File csv) {
@@ -108,7 +170,13 @@ public class CsvComponent implements Component {
         return fileName;
     }
 
-    record CsvClassInfo(String fullName, String simpleName, ClassType type) implements ClassInfo {
+    public enum ReadMode {
+        STREAMING,
+        MAPPED
+    }
+
+    static final class CsvClassInfo extends CompactClassInfo {
+        private final ClassType type;
 
         public static CsvClassInfo action(ClassInfo base) {
             return new CsvClassInfo(base, ACTION);
@@ -118,8 +186,32 @@ public class CsvComponent implements Component {
             return new CsvClassInfo(base, MODEL);
         }
 
+        CsvClassInfo(String fullName, String simpleName, ClassType type) {
+            super(fullName, simpleName);
+            this.type = type;
+        }
+
         CsvClassInfo(ClassInfo base, ClassType type) {
             this(base.fullName(), base.simpleName(), type);
         }
+
+        public ClassType type() {
+            return type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o) && type == ((CsvClassInfo) o).type;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + type.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "CsvClassInfo[fullName=%s, simpleName=%s, type=%s]".formatted(fullName(), simpleName(), type);
+        }
     }
 }
\ No newline at end of file
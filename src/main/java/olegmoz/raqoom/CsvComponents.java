@@ -0,0 +1,73 @@
+package olegmoz.raqoom;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class CsvComponents {
+
+    private static final String CSV_EXTENSION = ".csv";
+
+    private CsvComponents() {
+    }
+
+    public static Result loadAll(File directory) {
+        return loadAll(directory, CsvComponent.ReadMode.STREAMING);
+    }
+
+    public static Result loadAll(File directory, CsvComponent.ReadMode mode) {
+        var pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return loadAll(directory, mode, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public static Result loadAll(File directory, CsvComponent.ReadMode mode, ExecutorService executor) {
+        var files = directory.listFiles((dir, name) -> name.endsWith(CSV_EXTENSION));
+        if (files == null) {
+            throw new IllegalStateException("Directory does not exist: %s".formatted(directory));
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        var futures = new ArrayList<Future<ComponentSnapshot>>(files.length);
+        for (File file : files) {
+            futures.add(executor.submit(() -> new CsvComponent(file, mode).snapshot()));
+        }
+        var components = new ArrayList<ComponentSnapshot>(files.length);
+        var errors = new ArrayList<LoadError>();
+        for (int i = 0; i < files.length; i++) {
+            try {
+                components.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                errors.add(LoadError.of(files[i], e.getCause()));
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading components", e);
+            }
+        }
+        return new Result(List.copyOf(components), List.copyOf(errors));
+    }
+
+    public record Result(List<ComponentSnapshot> components, List<LoadError> errors) {
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+    }
+
+    public record LoadError(File file, int lineNo, String message) {
+
+        static LoadError of(File file, Throwable error) {
+            var lineNo = error instanceof CsvFormatException format ? format.lineNo() : 0;
+            return new LoadError(file, lineNo, String.valueOf(error.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package olegmoz.raqoom;
+
+public class CsvFormatException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int lineNo;
+
+    public CsvFormatException(String message, int lineNo) {
+        super(message);
+        this.lineNo = lineNo;
+    }
+
+    public int lineNo() {
+        return lineNo;
+    }
+}
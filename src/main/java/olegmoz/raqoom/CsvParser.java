@@ -0,0 +1,202 @@
+package olegmoz.raqoom;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static olegmoz.raqoom.ClassType.*;
+import static olegmoz.raqoom.CsvComponent.CsvClassInfo;
+
+final class CsvParser implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] ACTION_VALUE = {'a', 'c', 't', 'i', 'o', 'n'};
+    private static final byte[] MODEL_VALUE = {'m', 'o', 'd', 'e', 'l'};
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    private byte[] scratch = new byte[256];
+    private int lineNo;
+    private boolean eof;
+    private boolean skipLineFeed;
+
+    CsvParser(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+    }
+
+    CsvParser(ByteBuffer bytes, int lineNo) {
+        this.channel = null;
+        this.buffer = bytes.slice();
+        this.lineNo = lineNo;
+        this.eof = true;
+    }
+
+    int lineNo() {
+        return lineNo;
+    }
+
+    CsvClassInfo next(Predicate<ClassType> filter) throws IOException {
+        while (true) {
+            if (!buffer.hasRemaining() && !eof) {
+                fill();
+            }
+            if (skipLineFeed && buffer.hasRemaining()) {
+                if (buffer.get(buffer.position()) == '\n') {
+                    buffer.position(buffer.position() + 1);
+                }
+                skipLineFeed = false;
+                continue;
+            }
+            var start = buffer.position();
+            var end = lineEnd(start);
+            if (end < 0) {
+                if (!eof) {
+                    fill();
+                    continue;
+                }
+                if (start == buffer.limit()) {
+                    return null;
+                }
+                end = buffer.limit();
+                buffer.position(end);
+            } else {
+                skipLineFeed = buffer.get(end) == '\r';
+                buffer.position(end + 1);
+            }
+            var cl = parseLine(start, end, filter);
+            if (cl != null) {
+                return cl;
+            }
+        }
+    }
+
+    private int lineEnd(int from) {
+        for (int i = from, limit = buffer.limit(); i < limit; i++) {
+            var b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            var grown = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        var read = 0;
+        while (read == 0) {
+            read = channel.read(buffer);
+        }
+        if (read < 0) {
+            eof = true;
+        }
+        buffer.flip();
+    }
+
+    private CsvClassInfo parseLine(int start, int end, Predicate<ClassType> filter) {
+        lineNo++;
+        var firstComma = indexOfComma(start, end);
+        if (firstComma < 0) {
+            throw incompleteLine(start, end);
+        }
+        var secondComma = indexOfComma(firstComma + 1, end);
+        var simpleNameEnd = secondComma < 0 ? end : secondComma;
+        ClassType type;
+        if (secondComma >= 0 && hasValueAfter(secondComma, end)) {
+            var thirdComma = indexOfComma(secondComma + 1, end);
+            type = parseType(secondComma + 1, thirdComma < 0 ? end : thirdComma, start, end);
+        } else if (simpleNameEnd == firstComma + 1) {
+            throw incompleteLine(start, end);
+        } else {
+            type = UNKNOWN;
+        }
+        if (!filter.test(type)) {
+            return null;
+        }
+        return new CsvClassInfo(decode(start, firstComma), decode(firstComma + 1, simpleNameEnd), type);
+    }
+
+    private ClassType parseType(int from, int to, int lineStart, int lineEnd) {
+        var valueFrom = from;
+        var valueTo = to;
+        while (valueFrom < valueTo && (buffer.get(valueFrom) & 0xFF) <= ' ') {
+            valueFrom++;
+        }
+        while (valueTo > valueFrom && (buffer.get(valueTo - 1) & 0xFF) <= ' ') {
+            valueTo--;
+        }
+        if (valueFrom == valueTo) {
+            return UNKNOWN;
+        }
+        if (equalsIgnoreCase(valueFrom, valueTo, ACTION_VALUE)) {
+            return ACTION;
+        }
+        if (equalsIgnoreCase(valueFrom, valueTo, MODEL_VALUE)) {
+            return MODEL;
+        }
+        throw new CsvFormatException("Invalid value '%s' in line: #%d '%s' "
+                .formatted(decode(from, to), lineNo, decode(lineStart, lineEnd)), lineNo);
+    }
+
+    private boolean equalsIgnoreCase(int from, int to, byte[] lowerCase) {
+        if (to - from != lowerCase.length) {
+            return false;
+        }
+        for (int i = 0; i < lowerCase.length; i++) {
+            if ((buffer.get(from + i) | 0x20) != lowerCase[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasValueAfter(int comma, int end) {
+        for (int i = comma + 1; i < end; i++) {
+            if (buffer.get(i) != ',') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOfComma(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private CsvFormatException incompleteLine(int start, int end) {
+        return new CsvFormatException("Incomplete line #%d '%s' ".formatted(lineNo, decode(start, end)), lineNo);
+    }
+
+    private String decode(int from, int to) {
+        var length = to - from;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + from, length, UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package olegmoz.raqoom;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+public final class CsvWriter implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+    private final Writer writer;
+    private final boolean presized;
+
+    private CsvWriter(File file, int bufferSize, long expectedSize, OpenOption... options) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), options);
+        this.writer = new BufferedWriter(Channels.newWriter(channel, UTF_8.newEncoder(), bufferSize), bufferSize);
+        this.presized = expectedSize > channel.size();
+        if (presized) {
+            channel.write(ByteBuffer.wrap(new byte[1]), expectedSize - 1);
+        }
+    }
+
+    public static CsvWriter create(File file) throws IOException {
+        return create(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static CsvWriter create(File file, int bufferSize) throws IOException {
+        return create(file, bufferSize, 0);
+    }
+
+    public static CsvWriter create(File file, int bufferSize, long expectedSize) throws IOException {
+        return new CsvWriter(file, bufferSize, expectedSize, WRITE, CREATE, TRUNCATE_EXISTING);
+    }
+
+    public static CsvWriter append(File file) throws IOException {
+        return append(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static CsvWriter append(File file, int bufferSize) throws IOException {
+        return new CsvWriter(file, bufferSize, 0, WRITE, CREATE, APPEND);
+    }
+
+    public void row(String first, String second, CharSequence third) throws IOException {
+        writer.write(first);
+        writer.write(',');
+        writer.write(second);
+        writer.write(',');
+        writer.append(third);
+        writer.write('\n');
+    }
+
+    public void line(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (writer) {
+            if (presized) {
+                writer.flush();
+                channel.truncate(channel.position());
+            }
+        }
+    }
+}
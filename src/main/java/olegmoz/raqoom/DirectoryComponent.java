@@ -0,0 +1,259 @@
+package olegmoz.raqoom;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+public class DirectoryComponent implements Component, Closeable {
+
+    private static final String CLASS_EXT = ".class";
+
+    private final ComponentName name;
+    private final Path root;
+    private final ClassMarkers markers;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    private WatchService watcher;
+    private ComponentSnapshot snapshot;
+
+    public DirectoryComponent(String name, File directory) {
+        this(name, directory, ClassMarkers.DEFAULT);
+    }
+
+    public DirectoryComponent(String name, File directory, ClassMarkers markers) {
+        this.name = new ComponentName(name);
+        this.root = directory.toPath();
+        this.markers = markers;
+    }
+
+    @Override
+    public ComponentName name() {
+        return name;
+    }
+
+    @Override
+    public Collection<ClassInfo> actions() {
+        return snapshot().actions();
+    }
+
+    @Override
+    public Collection<ClassInfo> models() {
+        return snapshot().models();
+    }
+
+    @Override
+    public synchronized ComponentSnapshot snapshot() {
+        if (snapshot == null) {
+            return scan();
+        }
+        if (watcher != null) {
+            try {
+                if (rescanTouched()) {
+                    snapshot = build();
+                }
+            } catch (IOException | UncheckedIOException e) {
+                throw new RuntimeException("Failed to list classes from directory '%s'".formatted(root), e);
+            }
+        }
+        return snapshot;
+    }
+
+    public synchronized ComponentSnapshot scan() {
+        try {
+            if (rescan(root) || snapshot == null) {
+                snapshot = build();
+            }
+            return snapshot;
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to list classes from directory '%s'".formatted(root), e);
+        }
+    }
+
+    @Override
+    public ComponentSnapshot reload() {
+        return scan();
+    }
+
+    private ComponentSnapshot build() {
+        return ComponentSnapshot.of(name, classes(), JarComponent.JarClassInfo::isAction, JarComponent.JarClassInfo::isModel);
+    }
+
+    public synchronized DirectoryComponent watch() {
+        if (watcher != null) {
+            return this;
+        }
+        try {
+            watcher = root.getFileSystem().newWatchService();
+            register(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch directory '%s'".formatted(root), e);
+        }
+        snapshot = null;
+        return this;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+            watchedDirs.clear();
+        }
+    }
+
+    private Collection<JarComponent.JarClassInfo> classes() {
+        var headers = entries.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getValue().header())
+                .toList();
+        var hierarchy = new ClassHierarchy(headers, markers);
+        var classes = new ArrayList<JarComponent.JarClassInfo>(headers.size());
+        for (ClassHeader header : headers) {
+            classes.add(new JarComponent.JarClassInfo(header.name(), header.simpleName(), hierarchy.mask(header.name())));
+        }
+        return classes;
+    }
+
+    private boolean rescan(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            throw new NoSuchFileException(dir.toString());
+        }
+        var seen = ConcurrentHashMap.<Path>newKeySet();
+        var changed = new AtomicBoolean();
+        ForkJoinPool.commonPool().invoke(new Walk(dir, seen, changed));
+        if (entries.keySet().removeIf(file -> file.startsWith(dir) && !seen.contains(file))) {
+            changed.set(true);
+        }
+        return changed.get();
+    }
+
+    private boolean rescanTouched() throws IOException {
+        var touched = new LinkedHashSet<Path>();
+        WatchKey key;
+        while ((key = watcher.poll()) != null) {
+            var dir = watchedDirs.get(key);
+            for (var event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || dir == null) {
+                    touched.add(root);
+                } else {
+                    touched.add(dir.resolve((Path) event.context()));
+                }
+            }
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+            }
+        }
+        if (touched.contains(root)) {
+            return rescan(root);
+        }
+        var changed = false;
+        for (Path path : touched) {
+            if (Files.isDirectory(path)) {
+                register(path);
+                changed |= rescan(path);
+            } else if (Files.exists(path)) {
+                changed |= isClassFile(path) && refresh(path);
+            } else {
+                changed |= entries.keySet().removeIf(file -> file.startsWith(path));
+            }
+        }
+        return changed;
+    }
+
+    private boolean refresh(Path file) {
+        try {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            var lastModified = attributes.lastModifiedTime().toMillis();
+            var size = attributes.size();
+            var current = entries.get(file);
+            if (current != null && current.lastModified() == lastModified && current.size() == size) {
+                return false;
+            }
+            var header = ClassHeader.parse(ByteBuffer.wrap(Files.readAllBytes(file)));
+            if (header.module()) {
+                return false;
+            }
+            entries.put(file, new Entry(lastModified, size, header));
+            return true;
+        } catch (NoSuchFileException e) {
+            return entries.remove(file) != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        try (var dirs = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                watchedDirs.put(path.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), path);
+            }
+        }
+    }
+
+    private static boolean isClassFile(Path path) {
+        return path.getFileName().toString().endsWith(CLASS_EXT) && Files.isRegularFile(path);
+    }
+
+    private record Entry(long lastModified, long size, ClassHeader header) {
+    }
+
+    private final class Walk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final Set<Path> seen;
+        private final AtomicBoolean changed;
+
+        private Walk(Path dir, Set<Path> seen, AtomicBoolean changed) {
+            this.dir = dir;
+            this.seen = seen;
+            this.changed = changed;
+        }
+
+        @Override
+        protected void compute() {
+            var subdirs = new ArrayList<Walk>();
+            try (var children = Files.newDirectoryStream(dir)) {
+                for (Path child : children) {
+                    if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                        subdirs.add(new Walk(child, seen, changed));
+                    } else if (isClassFile(child)) {
+                        seen.add(child);
+                        if (refresh(child)) {
+                            changed.set(true);
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // removed while walking
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subdirs);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package olegmoz.raqoom;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InMemoryMetrics implements Metrics {
+
+    private static final String TOTAL = "";
+
+    private final Map<Counter, Map<String, LongAdder>> counters = new ConcurrentHashMap<>();
+    private final Map<Phase, Map<String, Timing>> timings = new ConcurrentHashMap<>();
+
+    @Override
+    public void count(Counter counter, String component, long delta) {
+        var byComponent = counters.computeIfAbsent(counter, c -> new ConcurrentHashMap<>());
+        byComponent.computeIfAbsent(TOTAL, c -> new LongAdder()).add(delta);
+        if (component != null) {
+            byComponent.computeIfAbsent(component, c -> new LongAdder()).add(delta);
+        }
+    }
+
+    @Override
+    public Timer start(Phase phase, String component) {
+        var started = System.nanoTime();
+        return () -> {
+            var elapsed = System.nanoTime() - started;
+            var byComponent = timings.computeIfAbsent(phase, p -> new ConcurrentHashMap<>());
+            byComponent.computeIfAbsent(TOTAL, c -> new Timing()).add(elapsed);
+            if (component != null) {
+                byComponent.computeIfAbsent(component, c -> new Timing()).add(elapsed);
+            }
+        };
+    }
+
+    public long count(Counter counter) {
+        return count(counter, TOTAL);
+    }
+
+    public long count(Counter counter, String component) {
+        var value = counters.getOrDefault(counter, Map.of()).get(component);
+        return value != null ? value.sum() : 0;
+    }
+
+    public Duration time(Phase phase) {
+        return time(phase, TOTAL);
+    }
+
+    public Duration time(Phase phase, String component) {
+        var timing = timings.getOrDefault(phase, Map.of()).get(component);
+        return Duration.ofNanos(timing != null ? timing.nanos.sum() : 0);
+    }
+
+    public String summary() {
+        var summary = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            var byComponent = counters.get(counter);
+            if (byComponent == null) {
+                continue;
+            }
+            new TreeMap<>(byComponent).forEach((component, value) -> summary.append("%s%s: %d%n"
+                    .formatted(counter.name().toLowerCase(), scope(component), value.sum())));
+        }
+        for (Phase phase : Phase.values()) {
+            var byComponent = timings.get(phase);
+            if (byComponent == null) {
+                continue;
+            }
+            new TreeMap<>(byComponent).forEach((component, timing) -> summary.append("%s%s: %d ms (%d calls)%n"
+                    .formatted(phase.name().toLowerCase(), scope(component),
+                            Duration.ofNanos(timing.nanos.sum()).toMillis(), timing.calls.sum())));
+        }
+        return summary.toString();
+    }
+
+    private static String scope(String component) {
+        return component.equals(TOTAL) ? "" : "[%s]".formatted(component);
+    }
+
+    private static final class Timing {
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+
+        void add(long elapsed) {
+            nanos.add(elapsed);
+            calls.increment();
+        }
+    }
+}
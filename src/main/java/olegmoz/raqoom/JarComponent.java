@@ -1,25 +1,59 @@
 package olegmoz.raqoom;
 
 import java.io.File;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.jar.JarFile;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 public class JarComponent implements Component {
 
-    private static final String CLASS_EXT = ".class";
-    private static final String ACTION = "org.example.Action";
-    private static final String MODEL = "org.example.Model";
+    private static final byte[] CLASS_EXT = ".class".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JAR_EXT = ".jar".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BOOT_INF_LIB = "BOOT-INF/lib/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEB_INF_LIB = "WEB-INF/lib/".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_PENDING_NESTED_JARS = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService NESTED_JARS = Executors.newFixedThreadPool(MAX_PENDING_NESTED_JARS, task -> {
+        var thread = new Thread(task, "nested-jar-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Semaphore PENDING_NESTED_JARS = new Semaphore(MAX_PENDING_NESTED_JARS);
 
     private final ComponentName name;
     private final File jar;
+    private final Mode mode;
+    private final ClassMarkers markers;
+    private final JarScanCache cache;
+    private final SnapshotCache snapshots;
 
     public JarComponent(String name, File jar) {
+        this(name, jar, JarScanCache.NONE);
+    }
+
+    public JarComponent(String name, File jar, JarScanCache cache) {
+        this(name, jar, Mode.PLAIN, cache);
+    }
+
+    public JarComponent(String name, File jar, Mode mode, JarScanCache cache) {
+        this(name, jar, mode, ClassMarkers.DEFAULT, cache);
+    }
+
+    public JarComponent(String name, File jar, Mode mode, ClassMarkers markers, JarScanCache cache) {
         this.name = new ComponentName(name);
         this.jar = jar;
+        this.mode = mode;
+        this.markers = markers;
+        this.cache = cache;
+        this.snapshots = new SnapshotCache(jar);
     }
 
     @Override
@@ -29,67 +63,155 @@ public class JarComponent implements Component {
 
     @Override
     public Collection<ClassInfo> actions() {
-        return classes().stream()
-                .filter(JarClassInfo::isAction)
-                .map(c -> (ClassInfo) c).toList();
+        return snapshot().actions();
     }
 
     @Override
     public Collection<ClassInfo> models() {
-        return classes().stream()
-                .filter(JarClassInfo::isModel)
-                .map(c -> (ClassInfo) c).toList();
+        return snapshot().models();
+    }
+
+    @Override
+    public ComponentSnapshot snapshot() {
+        return snapshots.get(this::load);
+    }
+
+    @Override
+    public ComponentSnapshot reload() {
+        return snapshots.reload(this::load);
+    }
+
+    private ComponentSnapshot load() {
+        return cache.get(name, jar, cacheVariant(), this::scan);
+    }
+
+    public ComponentSnapshot scan() {
+        return ComponentSnapshot.of(name, classes(), JarClassInfo::isAction, JarClassInfo::isModel);
+    }
+
+    private String cacheVariant() {
+        var variant = mode == Mode.PLAIN ? "" : mode.name();
+        var key = markers.key();
+        return variant.isEmpty() || key.isEmpty() ? variant + key : variant + "-" + key;
     }
 
     Collection<JarClassInfo> classes() {
-        var classes = new ArrayList<JarClassInfo>();
-        try (var jarFile = new JarFile(jar); var loader = new URLClassLoader(new URL[]{jar.toURI().toURL()})) {
-            var entries = jarFile.entries();
-            while (entries.hasMoreElements()) {
-                var entry = entries.nextElement().getName();
-                if (entry.endsWith(CLASS_EXT)) {
-                    var className = entry.replace('/', '.')
-                            .substring(0, entry.length() - CLASS_EXT.length());
-                    classes.add(toClassInfo(loader.loadClass(className)));
+        var metrics = Metrics.current();
+        var timer = metrics.start(Metrics.Phase.JAR_SCAN, name.value());
+        try {
+            var headers = headers();
+            var hierarchy = new ClassHierarchy(headers, markers);
+            var classes = new ArrayList<JarClassInfo>(headers.size());
+            for (ClassHeader header : headers) {
+                classes.add(new JarClassInfo(header.name(), header.simpleName(), hierarchy.mask(header.name())));
+            }
+            metrics.count(Metrics.Counter.CLASSES_SCANNED, name.value(), classes.size());
+            metrics.count(Metrics.Counter.BYTES_READ, name.value(), jar.length());
+            return classes;
+        } finally {
+            timer.close();
+        }
+    }
+
+    private List<ClassHeader> headers() {
+        var classes = new ArrayList<ClassHeader>();
+        var nested = new ArrayList<CompletableFuture<List<ClassHeader>>>();
+        try {
+            ZipReader.read(jar, entry -> {
+                if (entry.nameEndsWith(CLASS_EXT)) {
+                    addClass(entry.content(), classes);
+                } else if (mode == Mode.FAT_JAR && isNestedJar(entry)) {
+                    if (!PENDING_NESTED_JARS.tryAcquire()) {
+                        // all scanners are busy: scan on this thread rather than wait for a permit
+                        nested.add(CompletableFuture.completedFuture(nestedHeaders(entry.content())));
+                        return;
+                    }
+                    ByteBuffer content;
+                    try {
+                        content = entry.detachedContent();
+                    } catch (IOException | RuntimeException e) {
+                        PENDING_NESTED_JARS.release();
+                        throw e;
+                    }
+                    nested.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return nestedHeaders(content);
+                        } finally {
+                            PENDING_NESTED_JARS.release();
+                        }
+                    }, NESTED_JARS));
                 }
+            });
+            for (CompletableFuture<List<ClassHeader>> headers : nested) {
+                classes.addAll(headers.join());
             }
         } catch (Exception e) {
+            nested.forEach(f -> f.cancel(true));
             throw new RuntimeException("Failed to list classes from jar '%s'".formatted(jar), e);
         }
-        return classes;
+        return distinct(classes);
     }
 
-    private JarClassInfo toClassInfo(Class<?> cl) {
-        return new JarClassInfo(cl);
+    private static List<ClassHeader> distinct(List<ClassHeader> classes) {
+        // a class bundled by several nested libraries is listed once, as the first copy on the class path
+        var names = new HashSet<String>();
+        return classes.stream().filter(header -> names.add(header.name())).toList();
     }
 
-    static final class JarClassInfo implements ClassInfo {
-        private final Class<?> raw;
+    private static boolean isNestedJar(ZipReader.Entry entry) {
+        return entry.nameEndsWith(JAR_EXT) && (entry.nameStartsWith(BOOT_INF_LIB) || entry.nameStartsWith(WEB_INF_LIB));
+    }
 
-        private JarClassInfo(Class<?> raw) {
-            this.raw = raw;
+    private static List<ClassHeader> nestedHeaders(ByteBuffer jar) {
+        var classes = new ArrayList<ClassHeader>();
+        try {
+            new ZipReader(jar).read(entry -> {
+                if (entry.nameEndsWith(CLASS_EXT)) {
+                    addClass(entry.content(), classes);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return classes;
+    }
 
-        @Override
-        public String fullName() {
-            return raw.getName();
+    private static void addClass(ByteBuffer bytes, List<ClassHeader> classes) {
+        var header = ClassHeader.parse(bytes);
+        if (!header.module()) {
+            classes.add(header);
         }
+    }
 
-        @Override
-        public String simpleName() {
-            return raw.getSimpleName();
+    public enum Mode {
+        PLAIN,
+        FAT_JAR
+    }
+
+    static final class JarClassInfo extends CompactClassInfo {
+        private final int markers;
+
+        JarClassInfo(String fullName, String simpleName, int markers) {
+            super(fullName, simpleName);
+            this.markers = markers;
         }
 
         public boolean isAction() {
-            return Arrays.stream(raw.getInterfaces())
-                    .map(Class::getName)
-                    .anyMatch(name -> name.equals(ACTION));
+            return (markers & ClassMarkers.mask(ClassType.ACTION)) != 0;
         }
 
         public boolean isModel() {
-            return Arrays.stream(raw.getInterfaces())
-                    .map(Class::getName)
-                    .anyMatch(name -> name.equals(MODEL));
+            return (markers & ClassMarkers.mask(ClassType.MODEL)) != 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o) && markers == ((JarClassInfo) o).markers;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + markers;
         }
     }
 }
@@ -0,0 +1,80 @@
+package olegmoz.raqoom;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+public final class JarComponents {
+
+    private JarComponents() {
+    }
+
+    public static List<ComponentSnapshot> scanAll(Map<String, File> jars) {
+        return scanAll(jars, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static List<ComponentSnapshot> scanAll(Map<String, File> jars, int maxOpenJars) {
+        return scanAll(jars, maxOpenJars, JarScanCache.NONE);
+    }
+
+    public static List<ComponentSnapshot> scanAll(Map<String, File> jars, int maxOpenJars, JarScanCache cache) {
+        checkMaxOpenJars(maxOpenJars);
+        var pool = Executors.newFixedThreadPool(maxOpenJars);
+        try {
+            return scanAll(jars, pool, maxOpenJars, cache);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public static List<ComponentSnapshot> scanAll(Map<String, File> jars, ExecutorService executor, int maxOpenJars,
+                                                  JarScanCache cache) {
+        checkMaxOpenJars(maxOpenJars);
+        var permits = new Semaphore(maxOpenJars);
+        var components = jars.entrySet().stream()
+                .map(e -> new JarComponent(e.getKey(), e.getValue(), cache))
+                .sorted(Comparator.comparing(JarComponent::name))
+                .toList();
+        var futures = new ArrayList<Future<ComponentSnapshot>>(components.size());
+        for (JarComponent component : components) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return component.snapshot();
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        var snapshots = new ArrayList<ComponentSnapshot>(futures.size());
+        try {
+            for (Future<ComponentSnapshot> future : futures) {
+                snapshots.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Failed to scan jars", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning jars", e);
+        }
+        return snapshots;
+    }
+
+    private static void checkMaxOpenJars(int maxOpenJars) {
+        if (maxOpenJars < 1) {
+            throw new IllegalArgumentException("Max open jars should be positive: %d".formatted(maxOpenJars));
+        }
+    }
+}
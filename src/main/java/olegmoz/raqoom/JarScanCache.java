@@ -0,0 +1,83 @@
+package olegmoz.raqoom;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static olegmoz.raqoom.CsvComponent.CsvClassInfo;
+
+public class JarScanCache {
+
+    public static final JarScanCache NONE = new JarScanCache(null);
+
+    private static final String CSV_EXTENSION = ".csv";
+
+    private final File directory;
+
+    public JarScanCache(File directory) {
+        this.directory = directory;
+    }
+
+    ComponentSnapshot get(ComponentName name, File jar, Supplier<ComponentSnapshot> scanner) {
+        return get(name, jar, "", scanner);
+    }
+
+    ComponentSnapshot get(ComponentName name, File jar, String variant, Supplier<ComponentSnapshot> scanner) {
+        if (directory == null) {
+            return scanner.get();
+        }
+        var key = variant.isEmpty() ? hash(jar) : hash(jar) + "-" + variant;
+        var entry = new File(directory, key + CSV_EXTENSION);
+        if (entry.exists()) {
+            try {
+                return ComponentSnapshot.of(name, new CsvComponent(entry).read(), CsvClassInfo::type);
+            } catch (RuntimeException e) {
+                // unreadable entry is overwritten below
+            }
+        }
+        var snapshot = scanner.get();
+        put(entry, snapshot);
+        return snapshot;
+    }
+
+    private void put(File entry, ComponentSnapshot snapshot) {
+        try {
+            Files.createDirectories(directory.toPath());
+            var temp = File.createTempFile(entry.getName(), ".tmp", directory);
+            try {
+                Files.delete(temp.toPath());
+                new CsvComponent(temp).write(Stream.concat(
+                        snapshot.actions().stream().map(CsvClassInfo::action),
+                        snapshot.models().stream().map(CsvClassInfo::model)
+                ).toList());
+                Files.move(temp.toPath(), entry.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write jar scan cache entry '%s'".formatted(entry), e);
+        }
+    }
+
+    private static String hash(File jar) {
+        try (var in = new FileInputStream(jar)) {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash jar '%s'".formatted(jar), e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package olegmoz.raqoom;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static olegmoz.raqoom.CsvComponent.CsvClassInfo;
+
+final class MappedCsvReader {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+    private static final int PROBE_SIZE = 8 * 1024;
+
+    private final File csv;
+
+    MappedCsvReader(File csv) {
+        this.csv = csv;
+    }
+
+    List<CsvClassInfo> read() {
+        try (var channel = FileChannel.open(csv.toPath(), StandardOpenOption.READ)) {
+            var chunks = split(channel);
+            var results = IntStream.range(0, chunks.size() - 1).parallel()
+                    .mapToObj(i -> parse(channel, chunks.get(i), chunks.get(i + 1)))
+                    .toList();
+            var classes = new ArrayList<CsvClassInfo>();
+            var lines = 0;
+            for (int i = 0; i < results.size(); i++) {
+                var result = results.get(i);
+                if (result.error() != null) {
+                    throw reparse(channel, chunks.get(i), chunks.get(i + 1), lines);
+                }
+                classes.addAll(result.classes());
+                lines += result.lines();
+            }
+            return classes;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file: %s".formatted(csv), e);
+        }
+    }
+
+    private List<Long> split(FileChannel channel) throws IOException {
+        var size = channel.size();
+        var parallelism = Runtime.getRuntime().availableProcessors();
+        var chunkSize = Math.min(MAX_CHUNK_SIZE - PROBE_SIZE, Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4L)));
+        var bounds = new ArrayList<Long>();
+        bounds.add(0L);
+        var probe = ByteBuffer.allocate(PROBE_SIZE);
+        var position = 0L;
+        while (size - position > chunkSize) {
+            position = nextLine(channel, position + chunkSize, size, probe);
+            bounds.add(position);
+        }
+        if (position < size) {
+            bounds.add(size);
+        }
+        return bounds;
+    }
+
+    private static long nextLine(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        var position = from;
+        while (position < size) {
+            probe.clear();
+            var read = channel.read(probe, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private Chunk parse(FileChannel channel, long from, long to) {
+        try {
+            var parser = new CsvParser(map(channel, from, to), 0);
+            var classes = new ArrayList<CsvClassInfo>();
+            CsvClassInfo cl;
+            while ((cl = parser.next(type -> true)) != null) {
+                classes.add(cl);
+            }
+            return new Chunk(classes, parser.lineNo(), null);
+        } catch (IOException | RuntimeException e) {
+            return new Chunk(List.of(), 0, e);
+        }
+    }
+
+    private RuntimeException reparse(FileChannel channel, long from, long to, int lineNo) throws IOException {
+        try {
+            var parser = new CsvParser(map(channel, from, to), lineNo);
+            while (parser.next(type -> true) != null) {
+                // the failing line throws
+            }
+        } catch (RuntimeException e) {
+            return e;
+        }
+        return new IllegalStateException("Failed to locate malformed line in file: %s".formatted(csv));
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    private record Chunk(List<CsvClassInfo> classes, int lines, Exception error) {
+    }
+}
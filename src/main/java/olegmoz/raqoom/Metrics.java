@@ -0,0 +1,48 @@
+package olegmoz.raqoom;
+
+public interface Metrics {
+
+    Metrics NOOP = new Metrics() {
+        @Override
+        public void count(Counter counter, String component, long delta) {
+        }
+
+        @Override
+        public Timer start(Phase phase, String component) {
+            return Timer.NOOP;
+        }
+    };
+
+    static Metrics current() {
+        return MetricsHolder.current;
+    }
+
+    static void install(Metrics metrics) {
+        MetricsHolder.current = metrics != null ? metrics : NOOP;
+    }
+
+    void count(Counter counter, String component, long delta);
+
+    Timer start(Phase phase, String component);
+
+    enum Counter {
+        CLASSES_SCANNED,
+        BYTES_READ,
+        ROWS_EMITTED
+    }
+
+    enum Phase {
+        JAR_SCAN,
+        CSV_READ,
+        REPORT_WRITE
+    }
+
+    interface Timer extends AutoCloseable {
+
+        Timer NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
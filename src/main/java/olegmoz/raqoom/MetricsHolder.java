@@ -0,0 +1,9 @@
+package olegmoz.raqoom;
+
+final class MetricsHolder {
+
+    static volatile Metrics current = Metrics.NOOP;
+
+    private MetricsHolder() {
+    }
+}
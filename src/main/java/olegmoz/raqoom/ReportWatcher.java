@@ -0,0 +1,177 @@
+package olegmoz.raqoom;
+
+import olegmoz.raqoom.report.SharedReportsUpdater;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+public class ReportWatcher implements Closeable {
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
+    private static final int MAX_DEBOUNCE_ROUNDS = 10;
+
+    private final SharedReportsUpdater reports;
+    private final Duration debounce;
+    private final Listener listener;
+    private final Map<Path, Component> components = new LinkedHashMap<>();
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    private WatchService watcher;
+    private Thread thread;
+
+    public ReportWatcher(File actionsCsv, File modelsCsv) {
+        this(actionsCsv, modelsCsv, DEFAULT_DEBOUNCE, Listener.NONE);
+    }
+
+    public ReportWatcher(File actionsCsv, File modelsCsv, Duration debounce, Listener listener) {
+        this.reports = new SharedReportsUpdater(actionsCsv, modelsCsv);
+        this.debounce = debounce;
+        this.listener = listener;
+    }
+
+    public ReportWatcher watchCsv(File csv) {
+        return watch(csv, new CsvComponent(csv));
+    }
+
+    public ReportWatcher watchJar(String name, File jar) {
+        return watch(jar, new JarComponent(name, jar));
+    }
+
+    public synchronized ReportWatcher watch(File file, Component component) {
+        if (watcher != null) {
+            throw new IllegalStateException("Watcher is already started");
+        }
+        components.put(file.toPath().toAbsolutePath().normalize(), component);
+        return this;
+    }
+
+    public synchronized void start() {
+        if (watcher != null) {
+            throw new IllegalStateException("Watcher is already started");
+        }
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            for (Path dir : components.keySet().stream().map(Path::getParent).distinct().toList()) {
+                watchedDirs.put(dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch component files", e);
+        }
+        reload(components.keySet());
+        thread = new Thread(this::run, "report-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread current;
+        synchronized (this) {
+            current = thread;
+            if (watcher != null) {
+                watcher.close();
+            }
+        }
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                var touched = new LinkedHashSet<Path>();
+                collect(watcher.take(), touched);
+                for (int round = 0; round < MAX_DEBOUNCE_ROUNDS; round++) {
+                    var key = watcher.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    collect(key, touched);
+                }
+                touched.retainAll(components.keySet());
+                if (!touched.isEmpty()) {
+                    reload(touched);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> touched) {
+        var dir = watchedDirs.get(key);
+        for (var event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                touched.addAll(components.keySet());
+            } else {
+                touched.add(dir.resolve((Path) event.context()));
+            }
+        }
+        key.reset();
+    }
+
+    private void reload(Set<Path> files) {
+        var updated = new LinkedHashSet<String>();
+        for (Path file : files) {
+            var component = components.get(file);
+            var name = component.name().value();
+            try {
+                if (Files.exists(file)) {
+                    reports.update(component.reload());
+                } else {
+                    reports.remove(name);
+                }
+                updated.add(name);
+            } catch (RuntimeException e) {
+                listener.failed(new RuntimeException("Failed to reload component '%s'".formatted(name), e));
+            }
+        }
+        if (updated.isEmpty()) {
+            return;
+        }
+        try {
+            reports.write();
+        } catch (RuntimeException e) {
+            listener.failed(e);
+            return;
+        }
+        listener.updated(updated);
+    }
+
+    public interface Listener {
+
+        Listener NONE = new Listener() {
+        };
+
+        default void updated(Set<String> components) {
+        }
+
+        default void failed(RuntimeException error) {
+        }
+    }
+}
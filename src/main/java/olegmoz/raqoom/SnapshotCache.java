@@ -0,0 +1,37 @@
+package olegmoz.raqoom;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+final class SnapshotCache {
+
+    private final File file;
+    private volatile Entry entry;
+
+    SnapshotCache(File file) {
+        this.file = file;
+    }
+
+    ComponentSnapshot get(Supplier<ComponentSnapshot> loader) {
+        var lastModified = file.lastModified();
+        var length = file.length();
+        var current = entry;
+        if (current != null && current.lastModified == lastModified && current.length == length) {
+            return current.snapshot;
+        }
+        return load(lastModified, length, loader);
+    }
+
+    ComponentSnapshot reload(Supplier<ComponentSnapshot> loader) {
+        return load(file.lastModified(), file.length(), loader);
+    }
+
+    private ComponentSnapshot load(long lastModified, long length, Supplier<ComponentSnapshot> loader) {
+        var snapshot = loader.get();
+        entry = new Entry(lastModified, length, snapshot);
+        return snapshot;
+    }
+
+    private record Entry(long lastModified, long length, ComponentSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,262 @@
+package olegmoz.raqoom;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+final class ZipReader {
+
+    private static final int EOCD = 0x06054b50;
+    private static final int ZIP64_EOCD_LOCATOR = 0x07064b50;
+    private static final int ZIP64_EOCD = 0x06064b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int MAX_COMMENT = 0xFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final long U4_MAX = 0xFFFFFFFFL;
+
+    private final ByteBuffer zip;
+    private final Entry entry = new Entry();
+    private final Inflater inflater = new Inflater(true);
+    private byte[] content = new byte[64 * 1024];
+
+    ZipReader(ByteBuffer zip) {
+        this.zip = zip.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static void read(File file, EntryVisitor visitor) throws IOException {
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Archive is too large to map: %s".formatted(file));
+            }
+            new ZipReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())).read(visitor);
+        }
+    }
+
+    void read(EntryVisitor visitor) throws IOException {
+        try {
+            var eocd = findEndOfCentralDirectory();
+            long entries = u2(eocd + 10);
+            long offset = u4(eocd + 16);
+            if (entries == 0xFFFF || offset == U4_MAX) {
+                var locator = eocd - 20;
+                if (locator >= 0 && zip.getInt(locator) == ZIP64_EOCD_LOCATOR) {
+                    var zip64 = position(zip.getLong(locator + 8));
+                    if (zip.getInt(zip64) != ZIP64_EOCD) {
+                        throw new IllegalArgumentException("Malformed zip64 end of central directory");
+                    }
+                    entries = zip.getLong(zip64 + 32);
+                    offset = zip.getLong(zip64 + 48);
+                }
+            }
+            var header = position(offset);
+            for (long i = 0; i < entries; i++) {
+                if (zip.getInt(header) != CENTRAL_HEADER) {
+                    throw new IllegalArgumentException("Malformed central directory entry #%d".formatted(i));
+                }
+                var nameLength = u2(header + 28);
+                var extraLength = u2(header + 30);
+                var commentLength = u2(header + 32);
+                entry.reset(header, nameLength, extraLength);
+                visitor.visit(entry);
+                header += 46 + nameLength + extraLength + commentLength;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated zip archive", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private int findEndOfCentralDirectory() {
+        var last = zip.limit() - EOCD_SIZE;
+        var first = Math.max(0, last - MAX_COMMENT);
+        for (int i = last; i >= first; i--) {
+            if (zip.getInt(i) == EOCD) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a zip archive");
+    }
+
+    private int u2(int position) {
+        return Short.toUnsignedInt(zip.getShort(position));
+    }
+
+    private long u4(int position) {
+        return Integer.toUnsignedLong(zip.getInt(position));
+    }
+
+    private int position(long offset) {
+        if (offset < 0 || offset > zip.limit()) {
+            throw new IllegalArgumentException("Offset %d is out of archive bounds".formatted(offset));
+        }
+        return (int) offset;
+    }
+
+    private void checkRange(long offset, long length) {
+        if (offset < 0 || length < 0 || offset + length > zip.limit()) {
+            throw new IllegalArgumentException("Range %d+%d is out of archive bounds".formatted(offset, length));
+        }
+    }
+
+    private static int size(long size) {
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Entry size %d is too large".formatted(size));
+        }
+        return (int) size;
+    }
+
+    interface EntryVisitor {
+        void visit(Entry entry) throws IOException;
+    }
+
+    final class Entry {
+        private int header;
+        private int nameLength;
+        private int extraLength;
+
+        private void reset(int header, int nameLength, int extraLength) {
+            this.header = header;
+            this.nameLength = nameLength;
+            this.extraLength = extraLength;
+        }
+
+        boolean nameEndsWith(byte[] suffix) {
+            if (nameLength < suffix.length) {
+                return false;
+            }
+            var from = header + 46 + nameLength - suffix.length;
+            for (int i = 0; i < suffix.length; i++) {
+                if (zip.get(from + i) != suffix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean nameStartsWith(byte[] prefix) {
+            if (nameLength < prefix.length) {
+                return false;
+            }
+            var from = header + 46;
+            for (int i = 0; i < prefix.length; i++) {
+                if (zip.get(from + i) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String name() {
+            var bytes = new byte[nameLength];
+            zip.get(header + 46, bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        boolean isStored() {
+            return u2(header + 10) == STORED;
+        }
+
+        ByteBuffer content() throws IOException {
+            return content(false);
+        }
+
+        ByteBuffer detachedContent() throws IOException {
+            return content(true);
+        }
+
+        private ByteBuffer content(boolean detached) throws IOException {
+            var method = u2(header + 10);
+            var compressedSize = u4(header + 20);
+            var size = u4(header + 24);
+            var localOffset = u4(header + 42);
+            if (compressedSize == U4_MAX || size == U4_MAX || localOffset == U4_MAX) {
+                var extra = zip64Extra(size, compressedSize, localOffset);
+                size = extra[0];
+                compressedSize = extra[1];
+                localOffset = extra[2];
+            }
+            checkRange(localOffset, 30);
+            var local = (int) localOffset;
+            if (zip.getInt(local) != LOCAL_HEADER) {
+                throw new IllegalArgumentException("Malformed local header of entry '%s'".formatted(name()));
+            }
+            var data = local + 30 + u2(local + 26) + u2(local + 28);
+            checkRange(data, compressedSize);
+            var compressed = zip.slice(data, (int) compressedSize).order(ByteOrder.BIG_ENDIAN);
+            return switch (method) {
+                case STORED -> compressed;
+                case DEFLATED -> detached ? inflateDetached(compressed, size(size)) : inflate(compressed, size(size));
+                default -> throw new IllegalArgumentException(
+                        "Unsupported compression method %d of entry '%s'".formatted(method, name()));
+            };
+        }
+
+        private ByteBuffer inflate(ByteBuffer compressed, int size) throws IOException {
+            if (content.length < size) {
+                content = new byte[Math.max(size, content.length * 2)];
+            }
+            inflater.reset();
+            return inflate(inflater, compressed, content, size);
+        }
+
+        private ByteBuffer inflateDetached(ByteBuffer compressed, int size) throws IOException {
+            var detached = new Inflater(true);
+            try {
+                return inflate(detached, compressed, new byte[size], size);
+            } finally {
+                detached.end();
+            }
+        }
+
+        private ByteBuffer inflate(Inflater inflater, ByteBuffer compressed, byte[] content, int size)
+                throws IOException {
+            inflater.setInput(compressed);
+            var inflated = 0;
+            try {
+                while (inflated < size && !inflater.finished()) {
+                    var count = inflater.inflate(content, inflated, size - inflated);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Unexpected end of entry '%s'".formatted(name()));
+                    }
+                    inflated += count;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Malformed entry '%s'".formatted(name()), e);
+            }
+            return ByteBuffer.wrap(content, 0, inflated);
+        }
+
+        private long[] zip64Extra(long size, long compressedSize, long localOffset) {
+            var values = new long[]{size, compressedSize, localOffset};
+            var extra = header + 46 + nameLength;
+            var end = extra + extraLength;
+            while (extra + 4 <= end) {
+                var id = u2(extra);
+                var length = u2(extra + 2);
+                if (id == 0x0001) {
+                    var field = extra + 4;
+                    for (int i = 0; i < values.length; i++) {
+                        if (values[i] == U4_MAX) {
+                            values[i] = zip.getLong(field);
+                            field += 8;
+                        }
+                    }
+                    return values;
+                }
+                extra += 4 + length;
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.ClassInfo;
+import olegmoz.raqoom.CsvWriter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+
+class IncrementalSharedClassesReport {
+
+    private final Map<String, List<ClassKey>> classes = new TreeMap<>();
+    private final Map<String, TreeSet<String>> owners = new HashMap<>();
+    private final Set<String> dirty = new HashSet<>();
+    private boolean rebuild = true;
+
+    static IncrementalSharedClassesReport load(File state) {
+        var report = new IncrementalSharedClassesReport();
+        if (!state.exists()) {
+            return report;
+        }
+        try (var reader = Files.newBufferedReader(state.toPath(), UTF_8)) {
+            String line;
+            var lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                var first = line.indexOf(',');
+                var second = first < 0 ? -1 : line.indexOf(',', first + 1);
+                if (second < 0) {
+                    throw new IllegalArgumentException("Incomplete line #%d '%s' ".formatted(lineNo, line));
+                }
+                var component = line.substring(0, first);
+                var key = new ClassKey(line.substring(first + 1, second), line.substring(second + 1));
+                report.classes.computeIfAbsent(component, c -> new ArrayList<>()).add(key);
+                report.owners.computeIfAbsent(key.fullName(), k -> new TreeSet<>()).add(component);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file: %s".formatted(state), e);
+        }
+        report.rebuild = false;
+        return report;
+    }
+
+    void update(String component, Collection<ClassInfo> extracted) {
+        var current = extracted.stream()
+                .map(cl -> new ClassKey(cl.fullName(), cl.simpleName()))
+                .sorted(comparing(ClassKey::simpleName))
+                .toList();
+        var previous = classes.get(component);
+        if (current.equals(previous)) {
+            return;
+        }
+        var affected = new HashSet<String>();
+        if (previous != null) {
+            for (ClassKey key : previous) {
+                affected.add(key.fullName());
+                removeOwner(key.fullName(), component);
+            }
+        }
+        for (ClassKey key : current) {
+            affected.add(key.fullName());
+            owners.computeIfAbsent(key.fullName(), k -> new TreeSet<>()).add(component);
+        }
+        classes.put(component, current);
+        dirty.add(component);
+        markOwners(affected);
+    }
+
+    void remove(String component) {
+        var previous = classes.remove(component);
+        if (previous == null) {
+            return;
+        }
+        var affected = new HashSet<String>();
+        for (ClassKey key : previous) {
+            affected.add(key.fullName());
+            removeOwner(key.fullName(), component);
+        }
+        dirty.remove(component);
+        markOwners(affected);
+    }
+
+    void retain(Set<String> components) {
+        for (String component : List.copyOf(classes.keySet())) {
+            if (!components.contains(component)) {
+                remove(component);
+            }
+        }
+    }
+
+    void write(File csv) {
+        var temp = new File(csv.getPath() + ".tmp");
+        var previous = rebuild || !csv.exists() ? null : csv;
+        try (var writer = CsvWriter.create(temp);
+             var blocks = new Blocks(previous)) {
+            for (var entry : classes.entrySet()) {
+                var component = entry.getKey();
+                if (previous != null && !dirty.contains(component)) {
+                    blocks.copy(component, writer);
+                } else {
+                    generate(component, entry.getValue(), writer);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write file", e);
+        }
+        try {
+            Files.move(temp.toPath(), csv.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to replace file: %s".formatted(csv), e);
+        }
+        dirty.clear();
+        rebuild = false;
+    }
+
+    void save(File state) {
+        var temp = new File(state.getPath() + ".tmp");
+        try (var writer = CsvWriter.create(temp)) {
+            for (var entry : classes.entrySet()) {
+                for (ClassKey key : entry.getValue()) {
+                    writer.row(entry.getKey(), key.fullName(), key.simpleName());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write file: %s".formatted(state), e);
+        }
+        try {
+            Files.move(temp.toPath(), state.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to replace file: %s".formatted(state), e);
+        }
+    }
+
+    private void generate(String component, List<ClassKey> keys, CsvWriter writer) throws IOException {
+        var others = new StringBuilder();
+        for (ClassKey key : keys) {
+            others.setLength(0);
+            for (String owner : owners.get(key.fullName())) {
+                if (!owner.equals(component)) {
+                    if (!others.isEmpty()) {
+                        others.append(' ');
+                    }
+                    others.append(owner);
+                }
+            }
+            if (!others.isEmpty()) {
+                writer.row(component, key.simpleName(), others);
+            }
+        }
+    }
+
+    private void removeOwner(String fullName, String component) {
+        var set = owners.get(fullName);
+        if (set != null) {
+            set.remove(component);
+            if (set.isEmpty()) {
+                owners.remove(fullName);
+            }
+        }
+    }
+
+    private void markOwners(Set<String> affected) {
+        for (String fullName : affected) {
+            var set = owners.get(fullName);
+            if (set != null) {
+                dirty.addAll(set);
+            }
+        }
+    }
+
+    private record ClassKey(String fullName, String simpleName) {
+    }
+
+    private static final class Blocks implements AutoCloseable {
+        private final BufferedReader reader;
+        private String line;
+
+        private Blocks(File csv) throws IOException {
+            this.reader = csv == null ? null : Files.newBufferedReader(csv.toPath(), UTF_8);
+            this.line = reader == null ? null : reader.readLine();
+        }
+
+        void copy(String component, CsvWriter writer) throws IOException {
+            while (line != null && component(line).compareTo(component) < 0) {
+                line = reader.readLine();
+            }
+            while (line != null && component(line).equals(component)) {
+                writer.line(line);
+                line = reader.readLine();
+            }
+        }
+
+        private static String component(String row) {
+            var comma = row.indexOf(',');
+            return comma < 0 ? row : row.substring(0, comma);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package olegmoz.raqoom.report;
+
+import java.io.IOException;
+
+interface ReportRows {
+
+    boolean next() throws IOException;
+
+    String component();
+
+    String simpleName();
+
+    CharSequence others();
+}
@@ -0,0 +1,67 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.ClassInfo;
+import olegmoz.raqoom.ComponentName;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SharedActionsAndModelsReport {
+
+    private static final int ACTIONS = 0;
+    private static final int MODELS = 1;
+
+    private final Collection<? extends Component> components;
+
+    public SharedActionsAndModelsReport(Collection<? extends Component> components) {
+        this.components = components;
+    }
+
+    public void write(File actionsCsv, File modelsCsv) {
+        var pool = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        try {
+            var loads = new ArrayList<Future<Classified>>(components.size());
+            for (Component c : components) {
+                loads.add(pool.submit(() -> new Classified(c.name(), c.actions(), c.models())));
+            }
+            var index = SharedClassesIndex.actionsAndModels(await(loads, "Failed to load component"));
+            var actions = pool.submit(() -> SharedClassesReport.write(actionsCsv, () -> index, ACTIONS));
+            var models = pool.submit(() -> SharedClassesReport.write(modelsCsv, () -> index, MODELS));
+            await(List.of(actions, models), "Failed to write file");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> List<T> await(List<? extends Future<? extends T>> tasks, String failure) {
+        var results = new ArrayList<T>(tasks.size());
+        try {
+            for (Future<? extends T> task : tasks) {
+                results.add(task.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            tasks.forEach(t -> t.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(failure, e.getCause());
+        } catch (InterruptedException e) {
+            tasks.forEach(t -> t.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing reports", e);
+        }
+    }
+
+    private record Classified(ComponentName name, Collection<ClassInfo> actions, Collection<ClassInfo> models)
+            implements Component {
+    }
+
+    public interface Component extends SharedActionsReport.Component, SharedModelsReport.Component {
+    }
+}
@@ -17,6 +17,10 @@ public class SharedActionsReport {
         delegate.write(csv);
     }
 
+    public void writeIncremental(File csv, File state) {
+        delegate.writeIncremental(csv, state);
+    }
+
     public interface Component extends SharedClassesReport.Component {
         Collection<ClassInfo> actions();
     }
@@ -0,0 +1,177 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.CsvFormatException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class SharedClassesDiff {
+
+    private SharedClassesDiff() {
+    }
+
+    public static void diff(File before, File after, Consumer<Change> changes) {
+        try (var left = Files.newBufferedReader(before.toPath(), UTF_8);
+             var right = Files.newBufferedReader(after.toPath(), UTF_8)) {
+            merge(new FileRows(left), new FileRows(right), changes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to diff reports '%s' and '%s'".formatted(before, after), e);
+        }
+    }
+
+    public static void diff(SharedClassesIndex<?> before, SharedClassesIndex<?> after, Consumer<Change> changes) {
+        try {
+            merge(before.rows(), after.rows(), changes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to diff reports", e);
+        }
+    }
+
+    static void merge(ReportRows before, ReportRows after, Consumer<Change> changes) throws IOException {
+        var left = new Groups(before);
+        var right = new Groups(after);
+        var l = left.next();
+        var r = right.next();
+        while (l != null || r != null) {
+            var cmp = l == null ? 1 : r == null ? -1 : l.compareTo(r);
+            if (cmp < 0) {
+                for (String others : l.others) {
+                    changes.accept(new Change(Kind.REMOVED, l.component, l.simpleName, others, null));
+                }
+                l = left.next();
+            } else if (cmp > 0) {
+                for (String others : r.others) {
+                    changes.accept(new Change(Kind.ADDED, r.component, r.simpleName, null, others));
+                }
+                r = right.next();
+            } else {
+                compare(l, r, changes);
+                l = left.next();
+                r = right.next();
+            }
+        }
+    }
+
+    private static void compare(Group before, Group after, Consumer<Change> changes) {
+        var removed = new ArrayList<String>();
+        var added = new ArrayList<>(after.others);
+        for (String others : before.others) {
+            if (!added.remove(others)) {
+                removed.add(others);
+            }
+        }
+        var changed = Math.min(removed.size(), added.size());
+        for (int i = 0; i < changed; i++) {
+            changes.accept(new Change(Kind.CHANGED, before.component, before.simpleName, removed.get(i), added.get(i)));
+        }
+        for (int i = changed; i < removed.size(); i++) {
+            changes.accept(new Change(Kind.REMOVED, before.component, before.simpleName, removed.get(i), null));
+        }
+        for (int i = changed; i < added.size(); i++) {
+            changes.accept(new Change(Kind.ADDED, before.component, before.simpleName, null, added.get(i)));
+        }
+    }
+
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        CHANGED
+    }
+
+    public record Change(Kind kind, String component, String simpleName, String before, String after) {
+    }
+
+    private record Group(String component, String simpleName, List<String> others) implements Comparable<Group> {
+
+        @Override
+        public int compareTo(Group o) {
+            var cmp = component.compareTo(o.component);
+            return cmp != 0 ? cmp : simpleName.compareTo(o.simpleName);
+        }
+    }
+
+    private static final class Groups {
+        private final ReportRows rows;
+        private boolean pending;
+        private Group previous;
+
+        private Groups(ReportRows rows) throws IOException {
+            this.rows = rows;
+            this.pending = rows.next();
+        }
+
+        Group next() throws IOException {
+            if (!pending) {
+                return null;
+            }
+            var component = rows.component();
+            var simpleName = rows.simpleName();
+            var others = new ArrayList<String>();
+            do {
+                others.add(rows.others().toString());
+                pending = rows.next();
+            } while (pending && rows.component().equals(component) && rows.simpleName().equals(simpleName));
+            var group = new Group(component, simpleName, others);
+            if (previous != null && previous.compareTo(group) >= 0) {
+                throw new IllegalArgumentException("Report rows are not sorted at '%s,%s'".formatted(component, simpleName));
+            }
+            previous = group;
+            return group;
+        }
+    }
+
+    private static final class FileRows implements ReportRows {
+        private final BufferedReader reader;
+        private int lineNo;
+        private String component;
+        private String simpleName;
+        private String others;
+
+        private FileRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNo++;
+                if (line == null) {
+                    return false;
+                }
+            } while (line.isEmpty());
+            var first = line.indexOf(',');
+            var second = first < 0 ? -1 : line.indexOf(',', first + 1);
+            if (second < 0) {
+                throw new CsvFormatException("Incomplete line #%d '%s' ".formatted(lineNo, line), lineNo);
+            }
+            component = line.substring(0, first);
+            simpleName = line.substring(first + 1, second);
+            others = line.substring(second + 1);
+            return true;
+        }
+
+        @Override
+        public String component() {
+            return component;
+        }
+
+        @Override
+        public String simpleName() {
+            return simpleName;
+        }
+
+        @Override
+        public CharSequence others() {
+            return others;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.ClassInfo;
+import olegmoz.raqoom.ClassNames;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Comparator.comparing;
+import static olegmoz.raqoom.report.SharedClassesReport.Component;
+
+public class SharedClassesIndex<T extends Component> {
+
+    private final ClassNames names = new ClassNames();
+    private final ClassNames simpleNames = new ClassNames();
+    private final List<T> components;
+    private final List<Kind> kinds;
+    private final int words;
+    private final List<int[]> ids;
+    private final long[][] owners;
+    private final int[] ownerCounts;
+
+    SharedClassesIndex(Collection<T> components, Function<T, Collection<ClassInfo>> classesExtractor) {
+        this(components, List.of(classesExtractor));
+    }
+
+    SharedClassesIndex(Collection<T> components, List<Function<T, Collection<ClassInfo>>> classesExtractors) {
+        this.components = components.stream().sorted(comparing(Component::name)).toList();
+        this.words = (this.components.size() + 63) >>> 6;
+        this.kinds = classesExtractors.stream().map(this::kind).toList();
+        var first = kinds.get(0);
+        this.ids = first.ids;
+        this.owners = first.owners;
+        this.ownerCounts = first.ownerCounts;
+    }
+
+    public static SharedClassesIndex<SharedActionsReport.Component> actions(
+            Collection<? extends SharedActionsReport.Component> components) {
+        return new SharedClassesIndex<>(List.copyOf(components), SharedActionsReport.Component::actions);
+    }
+
+    public static SharedClassesIndex<SharedModelsReport.Component> models(
+            Collection<? extends SharedModelsReport.Component> components) {
+        return new SharedClassesIndex<>(List.copyOf(components), SharedModelsReport.Component::models);
+    }
+
+    static SharedClassesIndex<SharedActionsAndModelsReport.Component> actionsAndModels(
+            Collection<? extends SharedActionsAndModelsReport.Component> components) {
+        return new SharedClassesIndex<>(List.copyOf(components), List.of(
+                SharedActionsAndModelsReport.Component::actions, SharedActionsAndModelsReport.Component::models));
+    }
+
+    public List<T> components() {
+        return components;
+    }
+
+    public List<T> owners(ClassInfo cl) {
+        var id = names.find(cl.fullName());
+        var bits = bits(id);
+        if (bits == null) {
+            return List.of();
+        }
+        var result = new ArrayList<T>(ownerCounts[id]);
+        for (int c = nextSetBit(bits, 0); c >= 0; c = nextSetBit(bits, c + 1)) {
+            result.add(components.get(c));
+        }
+        return result;
+    }
+
+    public List<String> classesSharedBy(int minComponents) {
+        var result = new ArrayList<String>();
+        for (int id = 0; id < owners.length; id++) {
+            if (owners[id] != null && ownerCounts[id] >= minComponents) {
+                result.add(names.name(id));
+            }
+        }
+        result.sort(Comparator.naturalOrder());
+        return result;
+    }
+
+    public Map<T, List<String>> uniqueClasses() {
+        var result = new LinkedHashMap<T, List<String>>();
+        for (int c = 0; c < components.size(); c++) {
+            var unique = new ArrayList<String>();
+            for (int id : ids.get(c)) {
+                if (ownerCounts[id] == 1) {
+                    unique.add(names.name(id));
+                }
+            }
+            unique.sort(Comparator.naturalOrder());
+            result.put(components.get(c), unique);
+        }
+        return result;
+    }
+
+    public List<SharedPair<T>> pairsBySharedClasses(int limit) {
+        var membership = new long[components.size()][(owners.length + 63) >>> 6];
+        for (int c = 0; c < components.size(); c++) {
+            for (int id : ids.get(c)) {
+                membership[c][id >>> 6] |= 1L << id;
+            }
+        }
+        var pairs = new ArrayList<SharedPair<T>>();
+        for (int a = 0; a < components.size(); a++) {
+            for (int b = a + 1; b < components.size(); b++) {
+                var shared = 0;
+                var first = membership[a];
+                var second = membership[b];
+                for (int w = 0; w < first.length; w++) {
+                    shared += Long.bitCount(first[w] & second[w]);
+                }
+                if (shared > 0) {
+                    pairs.add(new SharedPair<>(components.get(a), components.get(b), shared));
+                }
+            }
+        }
+        pairs.sort(comparing((SharedPair<T> p) -> -p.shared()));
+        return pairs.size() > limit ? List.copyOf(pairs.subList(0, limit)) : pairs;
+    }
+
+    void rows(int kind, RowConsumer consumer) throws IOException {
+        var rows = rows(kind);
+        while (rows.next()) {
+            consumer.accept(rows.component(), rows.simpleName(), rows.others());
+        }
+    }
+
+    ReportRows rows() {
+        return rows(0);
+    }
+
+    ReportRows rows(int kind) {
+        var ids = kinds.get(kind).ids;
+        var simpleNameIds = kinds.get(kind).simpleNameIds;
+        var owners = kinds.get(kind).owners;
+        var componentNames = components.stream().map(c -> c.name().value()).toArray(String[]::new);
+        return new ReportRows() {
+            private final StringBuilder others = new StringBuilder();
+            private int c;
+            private int i = -1;
+
+            @Override
+            public boolean next() {
+                for (; c < componentNames.length; c++, i = -1) {
+                    var componentIds = ids.get(c);
+                    while (++i < componentIds.length) {
+                        others.setLength(0);
+                        var bits = owners[componentIds[i]];
+                        for (int o = nextSetBit(bits, 0); o >= 0; o = nextSetBit(bits, o + 1)) {
+                            if (o != c) {
+                                if (!others.isEmpty()) {
+                                    others.append(' ');
+                                }
+                                others.append(componentNames[o]);
+                            }
+                        }
+                        if (!others.isEmpty()) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String component() {
+                return componentNames[c];
+            }
+
+            @Override
+            public String simpleName() {
+                return simpleNames.name(simpleNameIds.get(c)[i]);
+            }
+
+            @Override
+            public CharSequence others() {
+                return others;
+            }
+        };
+    }
+
+    int[] ids(int component) {
+        return ids.get(component);
+    }
+
+    long[] bits(int id) {
+        return id >= 0 && id < owners.length ? owners[id] : null;
+    }
+
+    static int nextSetBit(long[] bits, int from) {
+        var word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        var current = bits[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    private Kind kind(Function<T, Collection<ClassInfo>> classesExtractor) {
+        var extracted = new ArrayList<List<Named>>(components.size());
+        var total = 0;
+        for (T component : components) {
+            var sorted = classesExtractor.apply(component).stream()
+                    .map(cl -> new Named(cl.fullName(), cl.simpleName()))
+                    .sorted(comparing(Named::simpleName))
+                    .toList();
+            extracted.add(sorted);
+            total += sorted.size();
+        }
+        // ids are shared by all kinds, so a kind may use ids past its own class count
+        var kind = new Kind(components.size(), names.size() + total);
+        for (int c = 0; c < extracted.size(); c++) {
+            var sorted = extracted.get(c);
+            var componentIds = new int[sorted.size()];
+            var componentSimpleNames = new int[sorted.size()];
+            for (int i = 0; i < componentIds.length; i++) {
+                var cl = sorted.get(i);
+                var id = names.id(cl.fullName());
+                componentIds[i] = id;
+                componentSimpleNames[i] = simpleNames.id(cl.simpleName());
+                kind.addOwner(id, c, words);
+            }
+            kind.ids.add(componentIds);
+            kind.simpleNameIds.add(componentSimpleNames);
+        }
+        return kind.trim(names.size());
+    }
+
+    interface RowConsumer {
+        void accept(String component, String simpleName, CharSequence others) throws IOException;
+    }
+
+    public record SharedPair<T>(T first, T second, int shared) {
+    }
+
+    private record Named(String fullName, String simpleName) {
+    }
+
+    private static final class Kind {
+        private final List<int[]> ids;
+        private final List<int[]> simpleNameIds;
+        private long[][] owners;
+        private int[] ownerCounts;
+
+        private Kind(int components, int maxIds) {
+            this.ids = new ArrayList<>(components);
+            this.simpleNameIds = new ArrayList<>(components);
+            this.owners = new long[maxIds][];
+            this.ownerCounts = new int[maxIds];
+        }
+
+        private void addOwner(int id, int component, int words) {
+            var bits = owners[id];
+            if (bits == null) {
+                bits = new long[words];
+                owners[id] = bits;
+            }
+            var mask = 1L << component;
+            if ((bits[component >>> 6] & mask) == 0) {
+                bits[component >>> 6] |= mask;
+                ownerCounts[id]++;
+            }
+        }
+
+        private Kind trim(int size) {
+            owners = Arrays.copyOf(owners, size);
+            ownerCounts = Arrays.copyOf(ownerCounts, size);
+            return this;
+        }
+    }
+}
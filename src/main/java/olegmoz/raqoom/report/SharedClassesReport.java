@@ -2,13 +2,15 @@ package olegmoz.raqoom.report;
 
 import olegmoz.raqoom.ClassInfo;
 import olegmoz.raqoom.ComponentName;
+import olegmoz.raqoom.CsvWriter;
+import olegmoz.raqoom.Metrics;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
-import static java.util.Comparator.comparing;
 import static olegmoz.raqoom.report.SharedClassesReport.Component;
 
 class SharedClassesReport<T extends Component> {
@@ -22,26 +24,40 @@ class SharedClassesReport<T extends Component> {
     }
 
     void write(File csv) {
-        try (var writer = new java.io.FileWriter(csv, true)) {
-            for (T component : components.stream().sorted(comparing(Component::name)).toList()) {
-                for (ClassInfo action : classesExtractor.apply(component).stream().sorted(comparing(ClassInfo::simpleName)).toList()) {
-                    var otherComponents = components.stream()
-                            .filter(c -> c != component)
-                            .filter(c -> classesExtractor.apply(c).contains(action))
-                            .toList();
-                    if (!otherComponents.isEmpty()) {
-                        var componentNames = otherComponents.stream()
-                                .map(Component::name)
-                                .map(ComponentName::value)
-                                .sorted()
-                                .collect(Collectors.joining(" "));
-                        writer.write(String.format("%s,%s,%s\n", component.name().value(), action.simpleName(), componentNames));
-                    }
-                }
+        write(csv, () -> new SharedClassesIndex<>(components, classesExtractor), 0);
+    }
+
+    static void write(File csv, Supplier<? extends SharedClassesIndex<?>> indexSupplier, int kind) {
+        var metrics = Metrics.current();
+        var timer = metrics.start(Metrics.Phase.REPORT_WRITE, null);
+        try (var writer = CsvWriter.append(csv)) {
+            var index = indexSupplier.get();
+            if (metrics == Metrics.NOOP) {
+                index.rows(kind, writer::row);
+            } else {
+                index.rows(kind, (component, simpleName, others) -> {
+                    writer.row(component, simpleName, others);
+                    metrics.count(Metrics.Counter.ROWS_EMITTED, component, 1);
+                });
             }
         } catch (Exception e) {
             throw new RuntimeException("Failed to write file", e);
+        } finally {
+            timer.close();
+        }
+    }
+
+    void writeIncremental(File csv, File state) {
+        var report = IncrementalSharedClassesReport.load(state);
+        var names = new HashSet<String>();
+        for (T component : components) {
+            var name = component.name().value();
+            names.add(name);
+            report.update(name, classesExtractor.apply(component));
         }
+        report.retain(names);
+        report.write(csv);
+        report.save(state);
     }
 
     public interface Component {
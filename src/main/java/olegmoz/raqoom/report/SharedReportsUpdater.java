@@ -0,0 +1,34 @@
+package olegmoz.raqoom.report;
+
+import java.io.File;
+
+public class SharedReportsUpdater {
+
+    private final File actionsCsv;
+    private final File modelsCsv;
+    private final IncrementalSharedClassesReport actions = new IncrementalSharedClassesReport();
+    private final IncrementalSharedClassesReport models = new IncrementalSharedClassesReport();
+
+    public SharedReportsUpdater(File actionsCsv, File modelsCsv) {
+        this.actionsCsv = actionsCsv;
+        this.modelsCsv = modelsCsv;
+    }
+
+    public synchronized void update(SharedActionsAndModelsReport.Component component) {
+        var name = component.name().value();
+        var componentActions = component.actions();
+        var componentModels = component.models();
+        actions.update(name, componentActions);
+        models.update(name, componentModels);
+    }
+
+    public synchronized void remove(String component) {
+        actions.remove(component);
+        models.remove(component);
+    }
+
+    public synchronized void write() {
+        actions.write(actionsCsv);
+        models.write(modelsCsv);
+    }
+}
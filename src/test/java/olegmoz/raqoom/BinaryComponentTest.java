@@ -0,0 +1,135 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class BinaryComponentTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void return_component_name() {
+        // given
+        var component = new BinaryComponent(tempDir.resolve("some_name.rqs").toFile());
+
+        // when
+        var name = component.name();
+
+        // then
+        assertThat(name.value()).isEqualTo("some_name");
+    }
+
+    @Test
+    public void read_written_component() {
+        // given
+        var component = new BinaryComponent(tempDir.resolve("test.rqs").toFile());
+
+        // when
+        component.write(new TestComponent());
+
+        // then
+        assertThat(component.actions()).extracting(ClassInfo::fullName, ClassInfo::simpleName).containsExactly(
+                tuple("Main", "Main"),
+                tuple("org.example.CreateAction", "CreateAction"),
+                tuple("org.example.Outer$1", "")
+        );
+        assertThat(component.models()).extracting(ClassInfo::fullName, ClassInfo::simpleName).containsExactly(
+                tuple("org.example.Outer$InnerModel", "InnerModel"),
+                tuple("org.other.UserModel", "Renamed")
+        );
+    }
+
+    @Test
+    public void convert_between_csv_and_binary() throws IOException {
+        // given
+        var csv = new CsvComponent(tempDir.resolve("test.csv").toFile());
+        csv.write(new TestComponent());
+        var binary = new BinaryComponent(tempDir.resolve("test.rqs").toFile());
+
+        // when
+        binary.write(csv);
+        var copy = tempDir.resolve("copy.csv");
+        new CsvComponent(copy.toFile()).write(binary);
+
+        // then
+        assertThat(copy).hasSameTextualContentAs(tempDir.resolve("test.csv"));
+    }
+
+    @Test
+    public void write_fails_when_file_exists() throws IOException {
+        // given
+        var file = tempDir.resolve("test.rqs");
+        Files.createFile(file);
+        var component = new BinaryComponent(file.toFile());
+
+        // when & then
+        assertThatThrownBy(() -> component.write(new TestComponent()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("File already exists");
+    }
+
+    @Test
+    public void read_fails_on_foreign_file() throws IOException {
+        // given
+        var file = tempDir.resolve("test.rqs");
+        Files.writeString(file, "org.example.CreateAction,CreateAction,ACTION");
+        var component = new BinaryComponent(file.toFile());
+
+        // when & then
+        assertThatThrownBy(component::actions)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a component snapshot file");
+    }
+
+    @Test
+    public void reuse_snapshot_until_file_changes() {
+        // given
+        var component = new BinaryComponent(tempDir.resolve("test.rqs").toFile());
+        component.write(new TestComponent());
+
+        // when
+        var first = component.snapshot();
+        var second = component.snapshot();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first.actions()).hasSize(3);
+        assertThat(first.models()).hasSize(2);
+    }
+
+    private static class TestComponent implements Component {
+        @Override
+        public ComponentName name() {
+            return new ComponentName("test");
+        }
+
+        @Override
+        public Collection<ClassInfo> actions() {
+            return List.of(
+                    cl("CreateAction"),
+                    new ClassInfoStub("Main", "Main", "Main"),
+                    new ClassInfoStub("org.example.Outer$1", "", "Outer$1")
+            );
+        }
+
+        @Override
+        public Collection<ClassInfo> models() {
+            return List.of(
+                    new ClassInfoStub("org.other.UserModel", "Renamed", "UserModel"),
+                    new ClassInfoStub("org.example.Outer$InnerModel", "InnerModel", "InnerModel")
+            );
+        }
+    }
+}
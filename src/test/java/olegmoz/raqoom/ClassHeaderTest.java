@@ -0,0 +1,70 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClassHeaderTest {
+
+    @Test
+    public void parse_top_level_class() throws IOException {
+        // when
+        var header = parse(ClassHeaderTest.class);
+
+        // then
+        assertThat(header.name()).isEqualTo("olegmoz.raqoom.ClassHeaderTest");
+        assertThat(header.simpleName()).isEqualTo("ClassHeaderTest");
+        assertThat(header.superName()).isEqualTo("java.lang.Object");
+        assertThat(header.interfaces()).isEmpty();
+    }
+
+    @Test
+    public void parse_nested_class() throws IOException {
+        // when
+        var header = parse(Nested.class);
+
+        // then
+        assertThat(header.name()).isEqualTo("olegmoz.raqoom.ClassHeaderTest$Nested");
+        assertThat(header.simpleName()).isEqualTo("Nested");
+        assertThat(header.interfaces()).containsExactly("java.lang.Runnable", "java.lang.AutoCloseable");
+    }
+
+    @Test
+    public void parse_anonymous_class() throws IOException {
+        // given
+        var anonymous = new Object() {
+        }.getClass();
+
+        // when
+        var header = parse(anonymous);
+
+        // then
+        assertThat(header.simpleName()).isEmpty();
+    }
+
+    @Test
+    public void parse_fails_on_non_class_bytes() {
+        // given
+        var bytes = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // then
+        assertThatThrownBy(() -> ClassHeader.parse(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not a class file");
+    }
+
+    private static ClassHeader parse(Class<?> cl) throws IOException {
+        var resource = cl.getName().substring(cl.getName().lastIndexOf('.') + 1) + ".class";
+        try (var in = Objects.requireNonNull(cl.getResourceAsStream(resource))) {
+            return ClassHeader.parse(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    static abstract class Nested implements Runnable, AutoCloseable {
+    }
+}
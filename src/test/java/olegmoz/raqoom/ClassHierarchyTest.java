@@ -0,0 +1,76 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static olegmoz.raqoom.ClassType.ACTION;
+import static olegmoz.raqoom.ClassType.MODEL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClassHierarchyTest {
+
+    private static final ClassMarkers MARKERS = new ClassMarkers(Map.of(
+            "org.example.Action", ACTION,
+            "org.example.BaseModel", MODEL));
+
+    @Test
+    public void classify_through_superclasses_and_interfaces() {
+        // given
+        var hierarchy = new ClassHierarchy(List.of(
+                header("org.example.AbstractAction", "java.lang.Object", "org.example.Action"),
+                header("org.example.CreateAction", "org.example.AbstractAction"),
+                header("org.example.SpecialAction", "java.lang.Object", "org.example.Special"),
+                header("org.example.Special", null, "org.example.Action"),
+                header("org.example.UserModel", "org.example.BaseModel"),
+                header("org.example.Main", "java.lang.Object")
+        ), MARKERS);
+
+        // then
+        assertThat(hierarchy.is("org.example.AbstractAction", ACTION)).isTrue();
+        assertThat(hierarchy.is("org.example.CreateAction", ACTION)).isTrue();
+        assertThat(hierarchy.is("org.example.SpecialAction", ACTION)).isTrue();
+        assertThat(hierarchy.is("org.example.UserModel", MODEL)).isTrue();
+        assertThat(hierarchy.is("org.example.UserModel", ACTION)).isFalse();
+        assertThat(hierarchy.is("org.example.Main", ACTION)).isFalse();
+        assertThat(hierarchy.is("org.example.Action", ACTION)).isFalse();
+    }
+
+    @Test
+    public void classify_deep_hierarchy() {
+        // given
+        var headers = new ArrayList<ClassHeader>();
+        headers.add(header("org.example.Level0", "java.lang.Object", "org.example.Action"));
+        for (int i = 1; i < 100_000; i++) {
+            headers.add(header("org.example.Level" + i, "org.example.Level" + (i - 1)));
+        }
+        var hierarchy = new ClassHierarchy(headers, MARKERS);
+
+        // then
+        assertThat(hierarchy.is("org.example.Level99999", ACTION)).isTrue();
+    }
+
+    @Test
+    public void derive_distinct_keys_for_markers_with_colliding_hash_codes() {
+        // given
+        var first = new ClassMarkers(Map.of("Aa", ACTION));
+        var second = new ClassMarkers(Map.of("BB", ACTION));
+
+        // then
+        assertThat(first.key()).isNotEqualTo(second.key());
+        assertThat(first.key()).isEqualTo(new ClassMarkers(Map.of("Aa", ACTION)).key());
+    }
+
+    @Test
+    public void markers_should_be_known_types() {
+        assertThatThrownBy(() -> new ClassMarkers(Map.of("org.example.Thing", ClassType.UNKNOWN)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ClassHeader header(String name, String superName, String... interfaces) {
+        return new ClassHeader(name, name.substring(name.lastIndexOf('.') + 1), superName, List.of(interfaces), false);
+    }
+}
@@ -0,0 +1,65 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class ClassNameArenaTest {
+
+    @Test
+    public void store_component_off_heap() {
+        // given
+        var arena = new ClassNameArena();
+
+        // when
+        var component = arena.store(new TestComponent());
+
+        // then
+        assertThat(component.name().value()).isEqualTo("test");
+        assertThat(component.actions()).extracting(ClassInfo::fullName, ClassInfo::simpleName).containsExactly(
+                tuple("org.example.CreateAction", "CreateAction"),
+                tuple("org.example.Outer$1", "")
+        );
+        assertThat(component.models()).extracting(ClassInfo::fullName, ClassInfo::simpleName).containsExactly(
+                tuple("org.other.UserModel", "Renamed")
+        );
+    }
+
+    @Test
+    public void spread_entries_over_chunks() {
+        // given
+        var arena = new ClassNameArena(32);
+
+        // when
+        var first = arena.store(new TestComponent());
+        var second = arena.store(new TestComponent());
+
+        // then
+        assertThat(arena.allocatedBytes()).isGreaterThanOrEqualTo(arena.usedBytes());
+        assertThat(second.actions()).extracting(ClassInfo::fullName)
+                .containsExactlyElementsOf(first.actions().stream().map(ClassInfo::fullName).toList());
+        assertThat(second.models()).extracting(ClassInfo::simpleName).containsExactly("Renamed");
+    }
+
+    private static class TestComponent implements Component {
+        @Override
+        public ComponentName name() {
+            return new ComponentName("test");
+        }
+
+        @Override
+        public Collection<ClassInfo> actions() {
+            return List.of(cl("CreateAction"), new ClassInfoStub("org.example.Outer$1", "", "Outer$1"));
+        }
+
+        @Override
+        public Collection<ClassInfo> models() {
+            return List.of(new ClassInfoStub("org.other.UserModel", "Renamed", "UserModel"));
+        }
+    }
+}
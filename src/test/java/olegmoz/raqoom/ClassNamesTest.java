@@ -0,0 +1,58 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClassNamesTest {
+
+    @Test
+    public void same_name_gets_same_id() {
+        // given
+        var names = new ClassNames();
+
+        // when
+        var first = names.id("org.example.CreateAction");
+        var second = names.id("org.example.UserModel");
+        var again = names.id("org.example.CreateAction");
+
+        // then
+        assertThat(again).isEqualTo(first);
+        assertThat(second).isNotEqualTo(first);
+        assertThat(names.name(second)).isEqualTo("org.example.UserModel");
+        assertThat(names.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void find_does_not_intern() {
+        // given
+        var names = new ClassNames();
+
+        // when
+        var id = names.find("org.example.Unknown");
+
+        // then
+        assertThat(id).isEqualTo(-1);
+        assertThat(names.size()).isZero();
+        assertThatThrownBy(() -> names.name(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void ids_are_sorted() {
+        // given
+        var names = new ClassNames();
+        names.id("org.example.C");
+        names.id("org.example.B");
+        names.id("org.example.A");
+
+        // when
+        var ids = names.ids(List.of(cl("A"), cl("C"), cl("B")));
+
+        // then
+        assertThat(ids).containsExactly(0, 1, 2);
+    }
+}
@@ -0,0 +1,45 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompactClassInfoTest {
+
+    @Test
+    public void derive_simple_name_from_local_name() {
+        // when
+        var top = new CompactClassInfo("org.example.CreateAction", "CreateAction");
+        var nested = new CompactClassInfo("org.example.Outer$Inner", "Inner");
+        var anonymous = new CompactClassInfo("org.example.Outer$1", "");
+        var renamed = new CompactClassInfo("org.example.UserModel", "User");
+        var unnamed = new CompactClassInfo("Main", "Main");
+
+        // then
+        assertThat(top.simpleName()).isEqualTo("CreateAction");
+        assertThat(nested.simpleName()).isEqualTo("Inner");
+        assertThat(anonymous.simpleName()).isEmpty();
+        assertThat(renamed.simpleName()).isEqualTo("User");
+        assertThat(unnamed.fullName()).isEqualTo("Main");
+        assertThat(unnamed.simpleName()).isEqualTo("Main");
+    }
+
+    @Test
+    public void hash_matches_full_name() {
+        // given
+        var cl = new CompactClassInfo("org.example.Outer$Inner", "Inner");
+
+        // then
+        assertThat(cl.hashCode()).isEqualTo("org.example.Outer$Inner".hashCode());
+        assertThat(new CompactClassInfo("Main", "Main").hashCode()).isEqualTo("Main".hashCode());
+    }
+
+    @Test
+    public void equal_when_names_match() {
+        // then
+        assertThat(new CompactClassInfo("org.example.A", "A"))
+                .isEqualTo(new CompactClassInfo("org.example.A", "A"))
+                .isNotEqualTo(new CompactClassInfo("org.example.A", "B"))
+                .isNotEqualTo(new CompactClassInfo("org.other.A", "A"));
+    }
+}
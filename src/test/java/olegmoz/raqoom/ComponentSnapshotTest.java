@@ -0,0 +1,25 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComponentSnapshotTest {
+
+    @Test
+    public void look_up_class_type_by_full_name() {
+        // given
+        var snapshot = new ComponentSnapshot(new ComponentName("test"),
+                List.of(cl("DeleteAction"), cl("CreateAction")), List.of(cl("UserModel")));
+
+        // then
+        assertThat(snapshot.type(cl("CreateAction"))).isEqualTo(ClassType.ACTION);
+        assertThat(snapshot.type(cl("UserModel"))).isEqualTo(ClassType.MODEL);
+        assertThat(snapshot.type(cl("AccountModel"))).isEqualTo(ClassType.UNKNOWN);
+        assertThat(snapshot.contains(cl("DeleteAction"))).isTrue();
+        assertThat(snapshot.contains(cl("AccountModel"))).isFalse();
+    }
+}
@@ -185,6 +185,107 @@ public class CsvComponentTest {
         assertThat(fullNames).containsExactlyInAnyOrder("org.example.Model1", "org.example.Model2");
     }
 
+    @Test
+    public void stream_filters_classes_by_type() throws IOException {
+        // given
+        var csvFile = tempDir.resolve("stream.csv").toFile();
+        var csvContent = "org.example.Action1,Action1,ACTION\r\n"
+                + "org.example.Model1,Model1, model \r\n"
+                + "org.example.Other,Other,\r\n"
+                + "org.example.Action2,Action2,action";
+        Files.writeString(csvFile.toPath(), csvContent);
+        var component = new CsvComponent(csvFile);
+
+        // when
+        List<String> actions;
+        try (var stream = component.stream(ACTION)) {
+            actions = stream.map(ClassInfo::fullName).toList();
+        }
+
+        // then
+        assertThat(actions).containsExactly("org.example.Action1", "org.example.Action2");
+    }
+
+    @Test
+    public void mapped_read_matches_streaming_read() throws IOException {
+        // given
+        var csvFile = tempDir.resolve("mapped.csv").toFile();
+        var csvContent = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            csvContent.append("org.example.Class%d,Class%d,%s\n".formatted(i, i, i % 2 == 0 ? "ACTION" : "MODEL"));
+        }
+        Files.writeString(csvFile.toPath(), csvContent);
+
+        // when
+        var streamed = new CsvComponent(csvFile).read();
+        var mapped = new CsvComponent(csvFile, CsvComponent.ReadMode.MAPPED).read();
+
+        // then
+        assertThat(mapped).isEqualTo(streamed);
+    }
+
+    @Test
+    public void mapped_read_reports_absolute_line_number() throws IOException {
+        // given
+        var csvFile = tempDir.resolve("mapped_broken.csv").toFile();
+        var csvContent = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            csvContent.append("org.example.Class%d,Class%d,ACTION\n".formatted(i, i));
+        }
+        csvContent.append("incomplete line\n");
+        Files.writeString(csvFile.toPath(), csvContent);
+        var component = new CsvComponent(csvFile, CsvComponent.ReadMode.MAPPED);
+
+        // then
+        assertThatThrownBy(component::read)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Incomplete line #100001");
+    }
+
+    @Test
+    public void snapshot_is_reused_while_file_is_unchanged() throws IOException {
+        // given
+        var csvFile = tempDir.resolve("snapshot.csv").toFile();
+        Files.writeString(csvFile.toPath(), """
+                org.example.Action1,Action1,ACTION
+                org.example.Model1,Model1,MODEL
+                """);
+        var component = new CsvComponent(csvFile);
+
+        // when
+        var first = component.snapshot();
+        var second = component.snapshot();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(component.actions()).isSameAs(first.actions());
+        assertThat(first.contains(cl("Action1"))).isTrue();
+        assertThat(first.type(cl("Model1"))).isEqualTo(MODEL);
+    }
+
+    @Test
+    public void snapshot_is_reloaded_when_file_changes() throws IOException {
+        // given
+        var csvFile = tempDir.resolve("snapshot.csv").toFile();
+        Files.writeString(csvFile.toPath(), """
+                org.example.Action1,Action1,ACTION
+                """);
+        var component = new CsvComponent(csvFile);
+        var first = component.snapshot();
+
+        // when
+        Files.writeString(csvFile.toPath(), """
+                org.example.Action1,Action1,ACTION
+                org.example.Action2,Action2,ACTION
+                """);
+        var second = component.snapshot();
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.actions()).extracting(ClassInfo::fullName)
+                .containsExactly("org.example.Action1", "org.example.Action2");
+    }
+
     private static class TestComponent implements Component {
         @Override
         public ComponentName name() {
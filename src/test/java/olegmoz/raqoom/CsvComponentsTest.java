@@ -0,0 +1,86 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class CsvComponentsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_all_csv_files_in_name_order() throws IOException {
+        // given
+        Files.writeString(tempDir.resolve("b.csv"), "org.example.CreateAction,CreateAction,ACTION\n");
+        Files.writeString(tempDir.resolve("a.csv"), "org.example.UserModel,UserModel,MODEL\n");
+        Files.writeString(tempDir.resolve("notes.txt"), "not a component");
+
+        // when
+        var result = CsvComponents.loadAll(tempDir.toFile());
+
+        // then
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(result.components()).extracting(c -> c.name().value()).containsExactly("a", "b");
+        assertThat(result.components().get(0).models()).extracting(ClassInfo::fullName)
+                .containsExactly("org.example.UserModel");
+        assertThat(result.components().get(1).actions()).extracting(ClassInfo::fullName)
+                .containsExactly("org.example.CreateAction");
+    }
+
+    @Test
+    public void collect_errors_of_all_malformed_files() throws IOException {
+        // given
+        Files.writeString(tempDir.resolve("valid.csv"), "org.example.CreateAction,CreateAction,ACTION\n");
+        Files.writeString(tempDir.resolve("invalid.csv"), "org.example.A,A,ACTION\norg.example.B,B,SERVICE\n");
+        Files.writeString(tempDir.resolve("incomplete.csv"), "org.example.A\n");
+
+        // when
+        var result = CsvComponents.loadAll(tempDir.toFile(), CsvComponent.ReadMode.MAPPED);
+
+        // then
+        assertThat(result.components()).extracting(c -> c.name().value()).containsExactly("valid");
+        assertThat(result.errors()).extracting(e -> e.file().getName(), CsvComponents.LoadError::lineNo)
+                .containsExactly(
+                        tuple("incomplete.csv", 1),
+                        tuple("invalid.csv", 2)
+                );
+        assertThat(result.errors().get(1).message()).startsWith("Invalid value 'SERVICE' in line: #2");
+    }
+
+    @Test
+    public void collect_error_of_invalid_component_name() throws IOException {
+        // given
+        Files.writeString(tempDir.resolve("valid.csv"), "org.example.CreateAction,CreateAction,ACTION\n");
+        Files.writeString(tempDir.resolve("my component.csv"), "org.example.CreateAction,CreateAction,ACTION\n");
+
+        // when
+        var result = CsvComponents.loadAll(tempDir.toFile());
+
+        // then
+        assertThat(result.components()).extracting(c -> c.name().value()).containsExactly("valid");
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.file().getName()).isEqualTo("my component.csv");
+            assertThat(error.lineNo()).isZero();
+            assertThat(error.message()).contains("should not contain space");
+        });
+    }
+
+    @Test
+    public void load_all_fails_when_directory_is_missing() {
+        // given
+        var directory = tempDir.resolve("missing").toFile();
+
+        // then
+        assertThatThrownBy(() -> CsvComponents.loadAll(directory))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Directory does not exist");
+    }
+}
@@ -0,0 +1,47 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CsvWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void truncate_presized_file_to_written_rows() throws IOException {
+        // given
+        var csv = tempDir.resolve("presized.csv");
+
+        // when
+        try (var writer = CsvWriter.create(csv.toFile(), 16, 4096)) {
+            writer.row("org.example.CreateAction", "CreateAction", "ACTION");
+        }
+
+        // then
+        assertThat(Files.readString(csv)).isEqualTo("org.example.CreateAction,CreateAction,ACTION\n");
+    }
+
+    @Test
+    public void grow_beyond_expected_size() throws IOException {
+        // given
+        var csv = tempDir.resolve("small.csv");
+
+        // when
+        try (var writer = CsvWriter.create(csv.toFile(), 16, 8)) {
+            writer.row("org.example.CreateAction", "CreateAction", "ACTION");
+            writer.row("org.example.UserModel", "UserModel", "MODEL");
+        }
+
+        // then
+        assertThat(Files.readAllLines(csv)).containsExactly(
+                "org.example.CreateAction,CreateAction,ACTION",
+                "org.example.UserModel,UserModel,MODEL");
+    }
+}
@@ -0,0 +1,96 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DirectoryComponentTest {
+
+    static Project PROJECT;
+
+    @TempDir
+    Path classes;
+
+    @BeforeAll
+    public static void beforeClass() {
+        PROJECT = new Project("test-project");
+        PROJECT.compile();
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        var source = PROJECT.classes().toPath();
+        try (var files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                var target = classes.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void classify_classes_of_directory() {
+        // given
+        var component = new DirectoryComponent("test", classes.toFile());
+
+        // when
+        var snapshot = component.snapshot();
+
+        // then
+        assertThat(snapshot.name().value()).isEqualTo("test");
+        assertThat(snapshot.actions()).extracting(ClassInfo::fullName).containsExactly("org.example.SomeAction");
+        assertThat(snapshot.models()).extracting(ClassInfo::fullName).containsExactly("org.example.SomeModel");
+    }
+
+    @Test
+    public void reuse_snapshot_until_files_change() throws IOException {
+        // given
+        var component = new DirectoryComponent("test", classes.toFile());
+        var first = component.snapshot();
+
+        // when
+        var unchanged = component.snapshot();
+        Files.delete(classes.resolve("org/example/SomeModel.class"));
+        var memoised = component.snapshot();
+        var changed = component.scan();
+
+        // then
+        assertThat(unchanged).isSameAs(first);
+        assertThat(memoised).isSameAs(first);
+        assertThat(changed.models()).isEmpty();
+        assertThat(changed.actions()).extracting(ClassInfo::fullName).containsExactly("org.example.SomeAction");
+    }
+
+    @Test
+    public void rescan_touched_files_when_watching() throws Exception {
+        // given
+        var model = classes.resolve("org/example/SomeModel.class");
+        var backup = Files.readAllBytes(model);
+        Files.delete(model);
+        try (var component = new DirectoryComponent("test", classes.toFile()).watch()) {
+            assertThat(component.snapshot().models()).isEmpty();
+
+            // when
+            Files.write(model, backup);
+
+            // then
+            var deadline = System.currentTimeMillis() + 5_000;
+            while (component.snapshot().models().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(component.snapshot().models()).extracting(ClassInfo::fullName)
+                    .containsExactly("org.example.SomeModel");
+        }
+    }
+}
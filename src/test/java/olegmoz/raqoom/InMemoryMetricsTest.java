@@ -0,0 +1,70 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static olegmoz.raqoom.Metrics.Counter.BYTES_READ;
+import static olegmoz.raqoom.Metrics.Counter.CLASSES_SCANNED;
+import static olegmoz.raqoom.Metrics.Phase.CSV_READ;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void uninstall() {
+        Metrics.install(null);
+    }
+
+    @Test
+    public void count_totals_and_per_component() {
+        // given
+        var metrics = new InMemoryMetrics();
+
+        // when
+        metrics.count(CLASSES_SCANNED, "a", 2);
+        metrics.count(CLASSES_SCANNED, "b", 3);
+        metrics.count(CLASSES_SCANNED, null, 1);
+
+        // then
+        assertThat(metrics.count(CLASSES_SCANNED)).isEqualTo(6);
+        assertThat(metrics.count(CLASSES_SCANNED, "a")).isEqualTo(2);
+        assertThat(metrics.count(CLASSES_SCANNED, "b")).isEqualTo(3);
+        assertThat(metrics.count(BYTES_READ)).isZero();
+    }
+
+    @Test
+    public void record_csv_read() throws IOException {
+        // given
+        var metrics = new InMemoryMetrics();
+        Metrics.install(metrics);
+        var csv = tempDir.resolve("component.csv");
+        Files.writeString(csv, "org.example.CreateAction,CreateAction,ACTION\norg.example.UserModel,UserModel,MODEL\n");
+
+        // when
+        new CsvComponent(csv.toFile()).snapshot();
+
+        // then
+        assertThat(metrics.count(CLASSES_SCANNED, "component")).isEqualTo(2);
+        assertThat(metrics.count(BYTES_READ, "component")).isEqualTo(Files.size(csv));
+        assertThat(metrics.time(CSV_READ, "component")).isPositive();
+        assertThat(metrics.summary()).contains("classes_scanned[component]: 2", "csv_read[component]: ");
+    }
+
+    @Test
+    public void disabled_by_default() {
+        // when
+        var metrics = Metrics.current();
+
+        // then
+        assertThat(metrics).isSameAs(Metrics.NOOP);
+        assertThat(metrics.start(CSV_READ, "component")).isSameAs(Metrics.Timer.NOOP);
+    }
+}
@@ -3,13 +3,27 @@ package olegmoz.raqoom;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 public class JarComponentTest {
 
@@ -136,4 +150,100 @@ public class JarComponentTest {
         var names = models.stream().map(ClassInfo::fullName).collect(toSet());
         assertThat(names).isEqualTo(Set.of("org.example.SomeModel"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void list_classes_of_nested_jars_in_fat_jar_mode(@TempDir Path tempDir) throws IOException {
+        // given
+        var fatJar = tempDir.resolve("fat.jar").toFile();
+        var bytes = Files.readAllBytes(PROJECT.jar().toPath());
+        try (var out = new ZipOutputStream(new FileOutputStream(fatJar))) {
+            var crc = new CRC32();
+            crc.update(bytes);
+            var stored = new ZipEntry("BOOT-INF/lib/stored.jar");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(bytes.length);
+            stored.setCrc(crc.getValue());
+            out.putNextEntry(stored);
+            out.write(bytes);
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("WEB-INF/lib/deflated.jar"));
+            out.write(bytes);
+            out.closeEntry();
+        }
+        var plain = new JarComponent("fat", fatJar);
+        var fat = new JarComponent("fat", fatJar, JarComponent.Mode.FAT_JAR, JarScanCache.NONE);
+
+        // when
+        var plainClasses = plain.classes();
+        var fatActions = fat.actions();
+
+        // then
+        assertThat(plainClasses).isEmpty();
+        assertThat(fatActions).extracting(ClassInfo::fullName)
+                .containsExactly("org.example.SomeAction");
+    }
+
+    @Test
+    public void scan_fat_jars_from_parallel_stream(@TempDir Path tempDir) throws IOException {
+        // given
+        var bytes = Files.readAllBytes(PROJECT.jar().toPath());
+        var components = new ArrayList<JarComponent>();
+        for (int i = 0; i < 16; i++) {
+            var fatJar = tempDir.resolve("fat" + i + ".jar").toFile();
+            try (var out = new ZipOutputStream(new FileOutputStream(fatJar))) {
+                for (int lib = 0; lib < 64; lib++) {
+                    out.putNextEntry(new ZipEntry("BOOT-INF/lib/lib" + lib + ".jar"));
+                    out.write(bytes);
+                    out.closeEntry();
+                }
+            }
+            components.add(new JarComponent("fat" + i, fatJar, JarComponent.Mode.FAT_JAR, JarScanCache.NONE));
+        }
+
+        // when
+        var actions = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> components.parallelStream()
+                .map(c -> c.scan().actions())
+                .toList());
+
+        // then
+        assertThat(actions).hasSize(16).allSatisfy(a -> assertThat(a).extracting(ClassInfo::fullName)
+                .containsExactly("org.example.SomeAction"));
+    }
+
+    @Test
+    public void list_class_with_both_markers_as_action_and_model(@TempDir Path tempDir) throws IOException {
+        // given
+        var jar = tempDir.resolve("both.jar").toFile();
+        try (var out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (Class<?> cl : List.of(ActionMarker.class, ModelMarker.class, Both.class)) {
+                var resource = cl.getName().substring(cl.getName().lastIndexOf('.') + 1) + ".class";
+                try (var in = Objects.requireNonNull(cl.getResourceAsStream(resource))) {
+                    out.putNextEntry(new ZipEntry(cl.getName().replace('.', '/') + ".class"));
+                    out.write(in.readAllBytes());
+                    out.closeEntry();
+                }
+            }
+        }
+        var markers = new ClassMarkers(Map.of(
+                ActionMarker.class.getName(), ClassType.ACTION,
+                ModelMarker.class.getName(), ClassType.MODEL));
+        var both = new JarComponent("both", jar, JarComponent.Mode.PLAIN, markers, JarScanCache.NONE);
+
+        // when
+        var actions = both.actions();
+        var models = both.models();
+
+        // then
+        assertThat(actions).extracting(ClassInfo::fullName).containsExactly(Both.class.getName());
+        assertThat(models).extracting(ClassInfo::fullName).containsExactly(Both.class.getName());
+    }
+
+    interface ActionMarker {
+    }
+
+    interface ModelMarker {
+    }
+
+    static class Both implements ActionMarker, ModelMarker {
+    }
+}
@@ -0,0 +1,58 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JarComponentsTest {
+
+    static Project PROJECT;
+
+    @BeforeAll
+    public static void beforeClass() {
+        PROJECT = new Project("test-project");
+        PROJECT.build();
+    }
+
+    @Test
+    public void scan_all_jars_in_name_order() {
+        // given
+        var jars = new HashMap<String, File>();
+        for (String name : new String[]{"d", "b", "a", "c", "e"}) {
+            jars.put(name, PROJECT.jar());
+        }
+
+        // when
+        var components = JarComponents.scanAll(jars, 2);
+
+        // then
+        assertThat(components).extracting(c -> c.name().value()).containsExactly("a", "b", "c", "d", "e");
+        assertThat(components).allSatisfy(c -> {
+            assertThat(c.actions()).extracting(ClassInfo::fullName).containsExactly("org.example.SomeAction");
+            assertThat(c.models()).extracting(ClassInfo::fullName).containsExactly("org.example.SomeModel");
+        });
+    }
+
+    @Test
+    public void scan_all_fails_when_jar_is_missing() {
+        // given
+        var jars = Map.of("missing", new File("missing.jar"));
+
+        // then
+        assertThatThrownBy(() -> JarComponents.scanAll(jars, 1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Failed to list classes from jar");
+    }
+
+    @Test
+    public void scan_all_requires_positive_limit() {
+        assertThatThrownBy(() -> JarComponents.scanAll(Map.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
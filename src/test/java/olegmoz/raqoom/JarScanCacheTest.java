@@ -0,0 +1,72 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JarScanCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void warm_run_skips_scanning() throws IOException {
+        // given
+        var jar = tempDir.resolve("some.jar").toFile();
+        Files.writeString(jar.toPath(), "jar content");
+        var cache = new JarScanCache(tempDir.resolve("cache").toFile());
+        var name = new ComponentName("some");
+        var scans = new AtomicInteger();
+        var scanned = new ComponentSnapshot(name, List.of(cl("CreateAction")), List.of(cl("UserModel")));
+
+        // when
+        cache.get(name, jar, () -> {
+            scans.incrementAndGet();
+            return scanned;
+        });
+        var cached = cache.get(name, jar, () -> {
+            scans.incrementAndGet();
+            return scanned;
+        });
+
+        // then
+        assertThat(scans).hasValue(1);
+        assertThat(cached.name()).isEqualTo(name);
+        assertThat(cached.actions()).extracting(ClassInfo::fullName).containsExactly("org.example.CreateAction");
+        assertThat(cached.models()).extracting(ClassInfo::fullName).containsExactly("org.example.UserModel");
+    }
+
+    @Test
+    public void changed_jar_is_scanned_again() throws IOException {
+        // given
+        var jar = tempDir.resolve("some.jar").toFile();
+        var cache = new JarScanCache(tempDir.resolve("cache").toFile());
+        var name = new ComponentName("some");
+        var scans = new AtomicInteger();
+        var scanned = new ComponentSnapshot(name, List.of(), List.of());
+
+        // when
+        Files.writeString(jar.toPath(), "first");
+        cache.get(name, jar, () -> {
+            scans.incrementAndGet();
+            return scanned;
+        });
+        Files.writeString(jar.toPath(), "second");
+        cache.get(name, jar, () -> {
+            scans.incrementAndGet();
+            return scanned;
+        });
+
+        // then
+        assertThat(scans).hasValue(2);
+        assertThat(tempDir.resolve("cache").toFile().list()).hasSize(2);
+    }
+}
@@ -13,7 +13,23 @@ public class Project {
     }
 
     public void build() {
-        var processBuilder = new ProcessBuilder("./gradlew", "jar").directory(root());
+        run("jar");
+        var jar = jar();
+        if (!jar.exists()) {
+            throw new IllegalStateException("Cannot find jar file %s".formatted(jar));
+        }
+    }
+
+    public void compile() {
+        run("classes");
+        var classes = classes();
+        if (!classes.isDirectory()) {
+            throw new IllegalStateException("Cannot find classes directory %s".formatted(classes));
+        }
+    }
+
+    private void run(String task) {
+        var processBuilder = new ProcessBuilder("./gradlew", task).directory(root());
         try {
             var process = processBuilder.start();
             try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
@@ -29,16 +45,16 @@ public class Project {
         } catch (Exception e) {
             throw new RuntimeException("Failed building project '%s'".formatted(name), e);
         }
-        var jar = jar();
-        if (!jar.exists()) {
-            throw new IllegalStateException("Cannot find jar file %s".formatted(jar));
-        }
     }
 
     public File jar() {
         return new File(root(), "build/libs/" + name + "-1.0-SNAPSHOT.jar");
     }
 
+    public File classes() {
+        return new File(root(), "build/classes/java/main");
+    }
+
     private File root() {
         return new File("src/test/resources/" + name);
     }
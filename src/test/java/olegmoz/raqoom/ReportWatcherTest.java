@@ -0,0 +1,114 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void rewrite_reports_when_component_changes() throws Exception {
+        // given
+        var a = tempDir.resolve("a.csv");
+        var b = tempDir.resolve("b.csv");
+        Files.writeString(a, "org.example.Create,Create,ACTION\norg.example.User,User,MODEL\n");
+        Files.writeString(b, "org.example.Create,Create,ACTION\n");
+        var actions = tempDir.resolve("actions.report");
+        var models = tempDir.resolve("models.report");
+        var updates = new LinkedBlockingQueue<Object>();
+        try (var watcher = new ReportWatcher(actions.toFile(), models.toFile(), Duration.ofMillis(50), listener(updates))) {
+            watcher.watchCsv(a.toFile()).watchCsv(b.toFile()).start();
+            assertThat(updates.poll(5, TimeUnit.SECONDS)).isEqualTo(Set.of("a", "b"));
+            assertThat(models).isEmptyFile();
+
+            // when
+            Files.writeString(b, "org.example.Create,Create,ACTION\norg.example.User,User,MODEL\n");
+
+            // then
+            assertThat(updates.poll(5, TimeUnit.SECONDS)).isEqualTo(Set.of("b"));
+            assertThat(Files.readString(actions)).isEqualTo("""
+                    a,Create,b
+                    b,Create,a
+                    """);
+            assertThat(Files.readString(models)).isEqualTo("""
+                    a,User,b
+                    b,User,a
+                    """);
+        }
+    }
+
+    @Test
+    public void reload_component_edited_without_size_or_time_change() throws Exception {
+        // given
+        var a = tempDir.resolve("a.csv");
+        var b = tempDir.resolve("b.csv");
+        Files.writeString(a, "org.example.Create,Create,ACTION\n");
+        Files.writeString(b, "org.example.Create,Create,ACTION\n");
+        var actions = tempDir.resolve("actions.report");
+        var updates = new LinkedBlockingQueue<Object>();
+        try (var watcher = new ReportWatcher(actions.toFile(), tempDir.resolve("models.report").toFile(),
+                Duration.ofMillis(50), listener(updates))) {
+            watcher.watchCsv(a.toFile()).watchCsv(b.toFile()).start();
+            assertThat(updates.poll(5, TimeUnit.SECONDS)).isEqualTo(Set.of("a", "b"));
+            assertThat(actions).isNotEmptyFile();
+
+            // when
+            var lastModified = Files.getLastModifiedTime(b);
+            Files.writeString(b, "org.example.Delete,Delete,ACTION\n");
+            Files.setLastModifiedTime(b, lastModified);
+
+            // then
+            assertThat(updates.poll(5, TimeUnit.SECONDS)).isEqualTo(Set.of("b"));
+            assertThat(actions).isEmptyFile();
+        }
+    }
+
+    @Test
+    public void drop_deleted_component() throws Exception {
+        // given
+        var a = tempDir.resolve("a.csv");
+        var b = tempDir.resolve("b.csv");
+        Files.writeString(a, "org.example.Create,Create,ACTION\n");
+        Files.writeString(b, "org.example.Create,Create,ACTION\n");
+        var actions = tempDir.resolve("actions.report");
+        var updates = new LinkedBlockingQueue<Object>();
+        try (var watcher = new ReportWatcher(actions.toFile(), tempDir.resolve("models.report").toFile(),
+                Duration.ofMillis(50), listener(updates))) {
+            watcher.watchCsv(a.toFile()).watchCsv(b.toFile()).start();
+            assertThat(updates.poll(5, TimeUnit.SECONDS)).isEqualTo(Set.of("a", "b"));
+
+            // when
+            Files.delete(b);
+
+            // then
+            assertThat(updates.poll(5, TimeUnit.SECONDS)).isEqualTo(Set.of("b"));
+            assertThat(actions).isEmptyFile();
+        }
+    }
+
+    private static ReportWatcher.Listener listener(BlockingQueue<Object> updates) {
+        return new ReportWatcher.Listener() {
+            @Override
+            public void updated(Set<String> components) {
+                updates.add(components);
+            }
+
+            @Override
+            public void failed(RuntimeException error) {
+                updates.add(error);
+            }
+        };
+    }
+}
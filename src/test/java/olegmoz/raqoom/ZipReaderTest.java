@@ -0,0 +1,102 @@
+package olegmoz.raqoom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ZipReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_stored_and_deflated_entries() throws IOException {
+        // given
+        var zip = tempDir.resolve("test.jar").toFile();
+        try (var out = new ZipOutputStream(new FileOutputStream(zip))) {
+            write(out, "org/example/Deflated.class", "deflated content".repeat(100), ZipEntry.DEFLATED);
+            write(out, "org/example/Stored.class", "stored content", ZipEntry.STORED);
+            write(out, "META-INF/MANIFEST.MF", "Manifest-Version: 1.0", ZipEntry.DEFLATED);
+        }
+        var suffix = ".class".getBytes(StandardCharsets.US_ASCII);
+        var names = new ArrayList<String>();
+        var contents = new ArrayList<String>();
+
+        // when
+        ZipReader.read(zip, entry -> {
+            if (entry.nameEndsWith(suffix)) {
+                names.add(entry.name());
+                var content = entry.content();
+                var bytes = new byte[content.remaining()];
+                content.get(bytes);
+                contents.add(new String(bytes, StandardCharsets.US_ASCII));
+            }
+        });
+
+        // then
+        assertThat(names).containsExactly("org/example/Deflated.class", "org/example/Stored.class");
+        assertThat(contents).containsExactly("deflated content".repeat(100), "stored content");
+    }
+
+    @Test
+    public void read_deflated_entry_larger_than_archive() throws IOException {
+        // given
+        var zip = tempDir.resolve("small.jar").toFile();
+        var content = "org/example/SomeAction ".repeat(200);
+        try (var out = new ZipOutputStream(new FileOutputStream(zip))) {
+            write(out, "org/example/SomeAction.class", content, ZipEntry.DEFLATED);
+        }
+        assertThat(zip.length()).isLessThan(content.length());
+        var contents = new ArrayList<String>();
+
+        // when
+        ZipReader.read(zip, entry -> {
+            var bytes = new byte[entry.content().remaining()];
+            entry.content().get(bytes);
+            contents.add(new String(bytes, StandardCharsets.US_ASCII));
+        });
+
+        // then
+        assertThat(contents).containsExactly(content);
+    }
+
+    @Test
+    public void read_fails_on_non_zip_file() throws IOException {
+        // given
+        var file = tempDir.resolve("not.jar");
+        Files.writeString(file, "definitely not a zip archive");
+
+        // then
+        assertThatThrownBy(() -> ZipReader.read(file.toFile(), entry -> {
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not a zip archive");
+    }
+
+    private static void write(ZipOutputStream out, String name, String content, int method) throws IOException {
+        var bytes = content.getBytes(StandardCharsets.US_ASCII);
+        var entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            var crc = new CRC32();
+            crc.update(bytes);
+            entry.setSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        out.putNextEntry(entry);
+        out.write(bytes);
+        out.closeEntry();
+    }
+}
@@ -0,0 +1,107 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.ClassInfo;
+import olegmoz.raqoom.ComponentName;
+import olegmoz.raqoom.report.SharedActionsAndModelsReport.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedActionsAndModelsReportTest {
+
+    @Test
+    void write_both_reports_in_one_pass(@TempDir File tempDir) throws Exception {
+        // given
+        var create = cl("Create");
+        var update = cl("Update");
+        var user = cl("User");
+        var account = cl("Account");
+        var a = new StubComponent("a", List.of(create, update), List.of(user));
+        var b = new StubComponent("b", List.of(update), List.of(user, account));
+        var c = new StubComponent("c", List.of(create), List.of(account));
+        var report = new SharedActionsAndModelsReport(List.of(a, b, c));
+        var actions = new File(tempDir, "actions.csv");
+        var models = new File(tempDir, "models.csv");
+
+        // when
+        report.write(actions, models);
+
+        // then
+        assertThat(Files.readString(actions.toPath())).isEqualTo("""
+                a,Create,c
+                a,Update,b
+                b,Update,a
+                c,Create,a
+                """);
+        assertThat(Files.readString(models.toPath())).isEqualTo("""
+                a,User,b
+                b,Account,c
+                b,User,a
+                c,Account,b
+                """);
+        assertThat(List.of(a, b, c)).allSatisfy(component -> {
+            assertThat(component.actionReads).isEqualTo(1);
+            assertThat(component.modelReads).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void keep_actions_and_models_apart_in_shared_index(@TempDir File tempDir) throws Exception {
+        // given
+        var both = cl("Both");
+        var a = new StubComponent("a", List.of(both), List.of(both));
+        var b = new StubComponent("b", List.of(), List.of(both));
+        var report = new SharedActionsAndModelsReport(List.of(a, b));
+        var actions = new File(tempDir, "actions.csv");
+        var models = new File(tempDir, "models.csv");
+
+        // when
+        report.write(actions, models);
+
+        // then
+        assertThat(actions).isEmpty();
+        assertThat(Files.readString(models.toPath())).isEqualTo("""
+                a,Both,b
+                b,Both,a
+                """);
+    }
+
+    static class StubComponent implements Component {
+
+        private final ComponentName name;
+        private final List<ClassInfo> actions;
+        private final List<ClassInfo> models;
+        private int actionReads;
+        private int modelReads;
+
+        StubComponent(String name, List<ClassInfo> actions, List<ClassInfo> models) {
+            this.name = new ComponentName(name);
+            this.actions = actions;
+            this.models = models;
+        }
+
+        @Override
+        public ComponentName name() {
+            return name;
+        }
+
+        @Override
+        public Collection<ClassInfo> actions() {
+            actionReads++;
+            return actions;
+        }
+
+        @Override
+        public Collection<ClassInfo> models() {
+            modelReads++;
+            return models;
+        }
+    }
+}
@@ -50,10 +50,63 @@ class SharedActionsReportTest {
                 """);
     }
 
+    @Test
+    void write_incremental_report_after_component_changes(@TempDir File tempDir) throws Exception {
+        // given
+        var create = cl("Create");
+        var update = cl("Update");
+        var delete = cl("Delete");
+        var file = new File(tempDir, "report.csv");
+        var state = new File(tempDir, "state.csv");
+        new SharedActionsReport(Set.of(
+                component("a", update, delete),
+                component("b", create, update),
+                component("c", create))
+        ).writeIncremental(file, state);
+
+        // when
+        new SharedActionsReport(Set.of(
+                component("a", update, delete),
+                component("b", create, update),
+                component("c", create, delete))
+        ).writeIncremental(file, state);
+
+        // then
+        var content = Files.readString(file.toPath());
+        assertThat(content).isEqualTo("""
+                a,Delete,c
+                a,Update,b
+                b,Create,c
+                b,Update,a
+                c,Create,b
+                c,Delete,a
+                """);
+    }
+
+    @Test
+    void read_actions_of_each_component_once(@TempDir File tempDir) {
+        // given
+        var create = cl("Create");
+        var update = cl("Update");
+        var a = component("a", create, update);
+        var b = component("b", create);
+        var c = component("c", update);
+        var report = new SharedActionsReport(Set.of(a, b, c));
+
+        // when
+        report.write(new File(tempDir, "report.csv"));
+
+        // then
+        assertThat(a.reads).isEqualTo(1);
+        assertThat(b.reads).isEqualTo(1);
+        assertThat(c.reads).isEqualTo(1);
+    }
+
     static class StubComponent implements Component {
 
         private final ComponentName name;
         private final List<ClassInfo> actions;
+        private int reads;
 
         public static StubComponent component(String name, ClassInfo... actions) {
             return new StubComponent(name, Arrays.asList(actions));
@@ -71,6 +124,7 @@ class SharedActionsReportTest {
 
         @Override
         public Collection<ClassInfo> actions() {
+            reads++;
             return actions;
         }
 
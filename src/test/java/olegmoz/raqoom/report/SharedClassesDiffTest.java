@@ -0,0 +1,111 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.ClassInfo;
+import olegmoz.raqoom.ComponentName;
+import olegmoz.raqoom.report.SharedClassesDiff.Change;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static olegmoz.raqoom.report.SharedClassesDiff.Kind.ADDED;
+import static olegmoz.raqoom.report.SharedClassesDiff.Kind.CHANGED;
+import static olegmoz.raqoom.report.SharedClassesDiff.Kind.REMOVED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedClassesDiffTest {
+
+    @Test
+    void diff_report_files(@TempDir File tempDir) throws Exception {
+        // given
+        var before = new File(tempDir, "before.csv");
+        var after = new File(tempDir, "after.csv");
+        Files.writeString(before.toPath(), """
+                a,Delete,c
+                a,Update,b c
+                b,Update,a c
+                c,Delete,a
+                c,Update,a b
+                """);
+        Files.writeString(after.toPath(), """
+                a,Update,b
+                b,Create,c
+                b,Update,a
+                c,Create,b
+                """);
+        var changes = new ArrayList<Change>();
+
+        // when
+        SharedClassesDiff.diff(before, after, changes::add);
+
+        // then
+        assertThat(changes).containsExactly(
+                new Change(REMOVED, "a", "Delete", "c", null),
+                new Change(CHANGED, "a", "Update", "b c", "b"),
+                new Change(ADDED, "b", "Create", null, "c"),
+                new Change(CHANGED, "b", "Update", "a c", "a"),
+                new Change(ADDED, "c", "Create", null, "b"),
+                new Change(REMOVED, "c", "Delete", "a", null),
+                new Change(REMOVED, "c", "Update", "a b", null)
+        );
+    }
+
+    @Test
+    void diff_component_sets() {
+        // given
+        var create = cl("Create");
+        var update = cl("Update");
+        var before = SharedClassesIndex.actions(List.of(component("a", create), component("b", create)));
+        var after = SharedClassesIndex.actions(List.of(
+                component("a", create, update), component("b", create, update), component("c", create)));
+        var changes = new ArrayList<Change>();
+
+        // when
+        SharedClassesDiff.diff(before, after, changes::add);
+
+        // then
+        assertThat(changes).containsExactly(
+                new Change(CHANGED, "a", "Create", "b", "b c"),
+                new Change(ADDED, "a", "Update", null, "b"),
+                new Change(CHANGED, "b", "Create", "a", "a c"),
+                new Change(ADDED, "b", "Update", null, "a"),
+                new Change(ADDED, "c", "Create", null, "a b")
+        );
+    }
+
+    @Test
+    void diff_fails_on_unsorted_report(@TempDir File tempDir) throws Exception {
+        // given
+        var before = new File(tempDir, "before.csv");
+        var after = new File(tempDir, "after.csv");
+        Files.writeString(before.toPath(), "b,Update,a\na,Update,b\n");
+        Files.writeString(after.toPath(), "");
+
+        // then
+        assertThatThrownBy(() -> SharedClassesDiff.diff(before, after, change -> {
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Report rows are not sorted at 'a,Update'");
+    }
+
+    private static SharedActionsReport.Component component(String name, ClassInfo... actions) {
+        return new SharedActionsReport.Component() {
+            @Override
+            public ComponentName name() {
+                return new ComponentName(name);
+            }
+
+            @Override
+            public Collection<ClassInfo> actions() {
+                return Arrays.asList(actions);
+            }
+        };
+    }
+}
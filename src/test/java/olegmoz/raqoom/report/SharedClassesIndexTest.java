@@ -0,0 +1,147 @@
+package olegmoz.raqoom.report;
+
+import olegmoz.raqoom.ClassInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static olegmoz.raqoom.ClassInfoStub.cl;
+import static olegmoz.raqoom.report.SharedActionsReportTest.StubComponent.component;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedClassesIndexTest {
+
+    @Test
+    void find_classes_shared_by_at_least_k_components() {
+        // given
+        var create = cl("Create");
+        var update = cl("Update");
+        var delete = cl("Delete");
+        var index = SharedClassesIndex.actions(List.of(
+                component("a", create, update),
+                component("b", create, update, delete),
+                component("c", create)));
+
+        // when
+        var sharedByThree = index.classesSharedBy(3);
+        var sharedByTwo = index.classesSharedBy(2);
+
+        // then
+        assertThat(sharedByThree).containsExactly(create.fullName());
+        assertThat(sharedByTwo).containsExactly(create.fullName(), update.fullName());
+    }
+
+    @Test
+    void find_classes_unique_to_one_component() {
+        // given
+        var create = cl("Create");
+        var reset = cl("Reset");
+        var a = component("a", create, reset);
+        var b = component("b", create);
+        var index = SharedClassesIndex.actions(List.of(b, a));
+
+        // when
+        var unique = index.uniqueClasses();
+
+        // then
+        assertThat(unique).containsOnlyKeys(a, b);
+        assertThat(unique.get(a)).containsExactly(reset.fullName());
+        assertThat(unique.get(b)).isEmpty();
+    }
+
+    @Test
+    void rank_component_pairs_by_shared_classes() {
+        // given
+        var create = cl("Create");
+        var update = cl("Update");
+        var a = component("a", create, update);
+        var b = component("b", create, update);
+        var c = component("c", create);
+        var index = SharedClassesIndex.actions(List.of(a, b, c));
+
+        // when
+        var pairs = index.pairsBySharedClasses(2);
+
+        // then
+        assertThat(pairs).hasSize(2);
+        assertThat(pairs.get(0)).isEqualTo(new SharedClassesIndex.SharedPair<>(a, b, 2));
+        assertThat(pairs.get(1).shared()).isEqualTo(1);
+    }
+
+    @Test
+    void list_owners_in_name_order() {
+        // given
+        var create = cl("Create");
+        var a = component("a", create);
+        var b = component("b", create);
+        var index = SharedClassesIndex.actions(List.of(b, a));
+
+        // when
+        var owners = index.owners(create);
+
+        // then
+        assertThat(owners).containsExactly(a, b);
+    }
+
+    @Test
+    void number_classes_densely_per_index() {
+        // given
+        var many = new ArrayList<ClassInfo>();
+        for (int i = 0; i < 1000; i++) {
+            many.add(cl("Class" + i));
+        }
+        SharedClassesIndex.actions(List.of(component("big", many.toArray(ClassInfo[]::new))));
+        var create = cl("Create");
+        var update = cl("Update");
+
+        // when
+        var index = SharedClassesIndex.actions(List.of(component("a", create, update), component("b", create)));
+
+        // then
+        assertThat(index.ids(0)).containsExactlyInAnyOrder(0, 1);
+        assertThat(index.ids(1)).containsExactly(0);
+        assertThat(index.bits(2)).isNull();
+    }
+
+    @Test
+    void read_class_names_once_per_index() {
+        // given
+        var classes = new ArrayList<CountingClassInfo>();
+        for (String name : List.of("Update", "Create", "Delete", "Reset", "Archive")) {
+            classes.add(new CountingClassInfo(name));
+        }
+
+        // when
+        SharedClassesIndex.actions(List.of(component("a", classes.toArray(ClassInfo[]::new))));
+
+        // then
+        assertThat(classes).allSatisfy(cl -> {
+            assertThat(cl.fullNameReads).isEqualTo(1);
+            assertThat(cl.simpleNameReads).isEqualTo(1);
+        });
+    }
+
+    static class CountingClassInfo implements ClassInfo {
+
+        private final String simpleName;
+        private int fullNameReads;
+        private int simpleNameReads;
+
+        CountingClassInfo(String simpleName) {
+            this.simpleName = simpleName;
+        }
+
+        @Override
+        public String fullName() {
+            fullNameReads++;
+            return "org.example." + simpleName;
+        }
+
+        @Override
+        public String simpleName() {
+            simpleNameReads++;
+            return simpleName;
+        }
+    }
+}